@@ -0,0 +1,43 @@
+package com.iforddow.authsuite.benchmark;
+
+import com.iforddow.authsuite.impl.UserPrincipal;
+import com.iforddow.authsuite.utils.AuthorityRegistry;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+* Shared fixtures of the benchmarks.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+final class BenchmarkUsers {
+
+    // How long minted tokens stay valid, longer than any benchmark run
+    static final long TOKEN_LIFETIME_MS = 3_600_000;
+
+    private BenchmarkUsers() {}
+
+    /**
+    * A method to create the principal of a typical user: two roles' worth of authorities.
+    *
+    * @return The principal.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    static UserPrincipal principal() {
+        Set<GrantedAuthority> authorities = new HashSet<>();
+
+        for (int i = 0; i < 12; i++) {
+            authorities.add(AuthorityRegistry.intern("resource" + i + ".read"));
+        }
+
+        return new UserPrincipal(UUID.randomUUID(), "user@example.com", "",
+                Set.copyOf(authorities), Set.of(1, 2), 0);
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.iforddow.authsuite.benchmark;
+
+import com.iforddow.authsuite.filter.JwtFilter;
+import com.iforddow.authsuite.impl.UserPrincipal;
+import com.iforddow.authsuite.jwt.AuthorizationVersions;
+import com.iforddow.authsuite.jwt.JwtAuthenticationMode;
+import com.iforddow.authsuite.jwt.TokenRevocationList;
+import com.iforddow.authsuite.jwt.VerifiedTokenCache;
+import com.iforddow.authsuite.service.JwtService;
+import io.jsonwebtoken.SignatureAlgorithm;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+* Benchmarks of the JwtFilter authenticating a bearer token, as on every authenticated request.
+* The UserDetailsService is stubbed with a fixed principal, so the database mode measures
+* the filter itself rather than a query. In stateless mode with the token cache enabled the
+* same token is a cache hit after the first request; otherwise every request verifies the
+* token again, as the database mode never serves tokens from the cache.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtFilterBenchmark {
+
+    // How the authentication is built from a valid token
+    @Param({"STATELESS", "DATABASE"})
+    public String mode;
+
+    // Whether verified tokens are cached
+    @Param({"true", "false"})
+    public boolean tokenCache;
+
+    // The filter under test
+    private JwtFilter filter;
+
+    // A request carrying a valid bearer token
+    private MockHttpServletRequest request;
+
+    // The response, which the filter does not write to
+    private MockHttpServletResponse response;
+
+    // The rest of the chain, which does nothing
+    private final FilterChain chain = (servletRequest, servletResponse) -> {};
+
+    @Setup
+    public void setup() {
+        JwtService jwtService = JwtServiceBenchmark.jwtService(SignatureAlgorithm.HS256);
+        UserPrincipal user = BenchmarkUsers.principal();
+        UserDetailsService userDetailsService = username -> user;
+
+        // Without a database the revocation list holds no tokens, which is the common case
+        TokenRevocationList revocationList = new TokenRevocationList(null, BenchmarkUsers.TOKEN_LIFETIME_MS, 1000, 0.001, 100);
+
+        filter = new JwtFilter(jwtService, userDetailsService, JwtAuthenticationMode.valueOf(mode),
+                new VerifiedTokenCache(tokenCache, 100_000, BenchmarkUsers.TOKEN_LIFETIME_MS, revocationList),
+                revocationList, new AuthorizationVersions(null, 100_000, BenchmarkUsers.TOKEN_LIFETIME_MS) {
+                    @Override
+                    protected int load(UUID userId) {
+                        return user.authzVersion();
+                    }
+                });
+
+        request = new MockHttpServletRequest("GET", "/auth/api/users");
+        request.addHeader("Authorization", "Bearer " + jwtService.generateJwtToken(user));
+
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication doFilter() throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+
+        filter.doFilter(request, response, chain);
+
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.iforddow.authsuite.benchmark;
+
+import com.iforddow.authsuite.impl.UserPrincipal;
+import com.iforddow.authsuite.jwt.JwtKeyRing;
+import com.iforddow.authsuite.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+* Benchmarks of minting and verifying access tokens, for each signing algorithm.
+* Every authenticated request verifies a token, and every login or refresh mints one.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtServiceBenchmark {
+
+    // The algorithm of the signing key
+    @Param({"HS256", "ES256"})
+    public String algorithm;
+
+    // The service under test
+    private JwtService jwtService;
+
+    // The user the tokens are minted for
+    private UserPrincipal user;
+
+    // A token minted during setup, verified by the verification benchmarks
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtService = jwtService(SignatureAlgorithm.valueOf(algorithm));
+        user = BenchmarkUsers.principal();
+        token = jwtService.generateJwtToken(user);
+    }
+
+    @Benchmark
+    public String generateJwtToken() {
+        return jwtService.generateJwtToken(user);
+    }
+
+    @Benchmark
+    public boolean validateJwtToken() {
+        return jwtService.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return jwtService.parseClaims(token);
+    }
+
+    /**
+    * A method to create a JwtService with a fresh key of an algorithm.
+    * ES256 keys are generated, so no key files are needed.
+    *
+    * @param algorithm HS256 or ES256.
+    * @return The service.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    static JwtService jwtService(SignatureAlgorithm algorithm) {
+        JwtService jwtService = new JwtService(new JwtKeyRing(algorithm,
+                "benchmark-secret-benchmark-secret-0123456789", "benchmark", "", "", "", "",
+                BenchmarkUsers.TOKEN_LIFETIME_MS, BenchmarkUsers.TOKEN_LIFETIME_MS));
+        jwtService.jwtExpirationMs = (int) BenchmarkUsers.TOKEN_LIFETIME_MS;
+        jwtService.jwtRefreshExpirationMs = (int) BenchmarkUsers.TOKEN_LIFETIME_MS;
+        return jwtService;
+    }
+
+}
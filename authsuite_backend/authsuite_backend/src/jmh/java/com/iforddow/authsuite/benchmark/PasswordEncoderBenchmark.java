@@ -0,0 +1,57 @@
+package com.iforddow.authsuite.benchmark;
+
+import com.iforddow.authsuite.password.PasswordEncoders;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+* Benchmarks of verifying a password stored under each encoding of the DelegatingPasswordEncoder.
+* The default encoding is measured at the Spring Security defaults; in production its cost is
+* set by password.argon2.*. The encoders are called directly, outside the hashing
+* executor, so the numbers are the cost of one verification on one core.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 4)
+public class PasswordEncoderBenchmark {
+
+    // The password used for every encoding
+    private static final String PASSWORD = "Correct#Horse42";
+
+    // The encoding id of the stored hash
+    @Param({
+            PasswordEncoders.DEFAULT_ID, "argon2", "bcrypt", "pbkdf2", "pbkdf2@SpringSecurity_v5_8",
+            "scrypt", "scrypt@SpringSecurity_v5_8", "sha256", "noop"
+    })
+    public String id;
+
+    // The delegating encoder, as configured by the application
+    private PasswordEncoder passwordEncoder;
+
+    // The password stored under the encoding id, with its {id} prefix
+    private String encoded;
+
+    @Setup
+    public void setup() {
+        Map<String, PasswordEncoder> encoders = PasswordEncoders.byId(Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        passwordEncoder = new DelegatingPasswordEncoder(PasswordEncoders.DEFAULT_ID, encoders);
+        encoded = "{" + id + "}" + encoders.get(id).encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches(PASSWORD, encoded);
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.iforddow.authsuite.benchmark;
+
+import com.iforddow.authsuite.jpa.entity.Permission;
+import com.iforddow.authsuite.jpa.entity.Role;
+import com.iforddow.authsuite.jpa.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+* Benchmarks of building the authorities of a user entity from its roles and direct permissions.
+* Replacing the roles resets the authority snapshot, so each build is measured from scratch,
+* as when a user is loaded; the cached benchmark measures the repeated reads that follow.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UserAuthoritiesBenchmark {
+
+    // The number of roles of the user
+    @Param({"1", "3", "10"})
+    public int roles;
+
+    // The number of permissions of each role
+    @Param({"10", "50"})
+    public int permissionsPerRole;
+
+    // The number of permissions granted to the user directly
+    @Param({"0", "5"})
+    public int directPermissions;
+
+    // The user under test
+    private User user;
+
+    // The roles of the user
+    private Set<Role> userRoles;
+
+    @Setup
+    public void setup() {
+        userRoles = new LinkedHashSet<>();
+
+        // Roles overlap by half their permissions, as roles building on each other do
+        for (int r = 0; r < roles; r++) {
+            Role role = new Role();
+            role.setId(r + 1);
+            role.setName("role" + r);
+
+            Set<Permission> permissions = new LinkedHashSet<>();
+
+            for (int p = 0; p < permissionsPerRole; p++) {
+                permissions.add(permission(r * permissionsPerRole / 2 + p, "resource" + (r * permissionsPerRole / 2 + p) + ".read"));
+            }
+
+            role.setPermissions(permissions);
+            userRoles.add(role);
+        }
+
+        Set<Permission> direct = new LinkedHashSet<>();
+
+        for (int p = 0; p < directPermissions; p++) {
+            direct.add(permission(100_000 + p, "direct" + p + ".write"));
+        }
+
+        user = User.builder()
+                .email("user@example.com")
+                .password("")
+                .roles(userRoles)
+                .permissions(direct)
+                .build();
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> build() {
+        user.setRoles(userRoles);
+        return user.getAuthorities();
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> cached() {
+        return user.getAuthorities();
+    }
+
+    private static Permission permission(int id, String name) {
+        Permission permission = new Permission();
+        permission.setId(id);
+        permission.setName(name);
+        return permission;
+    }
+
+}
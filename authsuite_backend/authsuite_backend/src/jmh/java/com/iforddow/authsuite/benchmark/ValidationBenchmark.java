@@ -0,0 +1,39 @@
+package com.iforddow.authsuite.benchmark;
+
+import com.iforddow.authsuite.utils.AuthSuiteUtils;
+import com.iforddow.authsuite.utils.PasswordUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+* Benchmarks of the input checks of registration and login.
+* A valid password runs every rule, so it is the slowest case of the password policy.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ValidationBenchmark {
+
+    // The password checked against the policy
+    @Param({"Correct#Horse42", "alllowercase", "short"})
+    public String password;
+
+    // The email checked for its format
+    @Param({"first.last+tag@mail.example.com", "not-an-email"})
+    public String email;
+
+    @Benchmark
+    public String validatePassword() {
+        return PasswordUtils.validate(password);
+    }
+
+    @Benchmark
+    public boolean isValidEmail() {
+        return AuthSuiteUtils.isValidEmail(email);
+    }
+
+}
@@ -0,0 +1,183 @@
+package com.iforddow.authsuite.cache;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+* A thread-safe in-memory cache bounded by size, with a deadline per entry.
+* Entries are evicted in insertion order once the cache is full, and expired
+* entries are dropped when they are read. Lookups do not take a lock.
+*
+* @param <K> The type of the keys.
+* @param <V> The type of the values.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public class BoundedCache<K, V> {
+
+    // A cached value together with its key and deadline
+    private record Entry<K, V>(K key, V value, long expiresAtMs) {}
+
+    // The live entries of the cache
+    private final Map<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+
+    // The entries in insertion order, used to pick eviction victims
+    private final Queue<Entry<K, V>> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    // The number of entries in the insertion queue, including ones already removed from the map
+    private final AtomicInteger queued = new AtomicInteger();
+
+    // The maximum number of entries held at once
+    private final int maxSize;
+
+    // Counters for the cache statistics
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+    * A constructor for the BoundedCache class.
+    *
+    * @param maxSize The maximum number of entries held at once.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public BoundedCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+    * A method to look up a live value.
+    *
+    * @param key The key to look up.
+    * @return The cached value, or null if there is none or it has expired.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public V get(K key) {
+        Entry<K, V> entry = entries.get(key);
+
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        if (entry.expiresAtMs() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return entry.value();
+    }
+
+    /**
+    * A method to cache a value until a deadline.
+    *
+    * @param key The key of the value.
+    * @param value The value to cache.
+    * @param expiresAtMs The epoch millisecond after which the value is no longer returned.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public void put(K key, V value, long expiresAtMs) {
+        if (expiresAtMs <= System.currentTimeMillis()) {
+            return;
+        }
+
+        Entry<K, V> entry = new Entry<>(key, value, expiresAtMs);
+        entries.put(key, entry);
+        insertionOrder.offer(entry);
+
+        if (queued.incrementAndGet() > maxSize) {
+            evict();
+        }
+    }
+
+    /**
+    * A method to remove a single entry.
+    *
+    * @param key The key of the entry to remove.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+    * A method to remove every entry whose value matches a predicate.
+    * This walks the whole cache, so it is meant for rare events such as role changes.
+    *
+    * @param predicate The predicate selecting the values to remove.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public void invalidateIf(Predicate<? super V> predicate) {
+        entries.values().removeIf(entry -> predicate.test(entry.value()));
+    }
+
+    /**
+    * A method to remove every entry.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+    * A method to get the current statistics of the cache.
+    *
+    * @return The cache statistics.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    /**
+    * A method to drop the oldest entries until the cache is back within its bound.
+    * Queue entries that were already replaced or removed are discarded without
+    * touching the map, so replacing a key never evicts its newer value.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private void evict() {
+        long now = System.currentTimeMillis();
+
+        while (queued.get() > maxSize) {
+            Entry<K, V> oldest = insertionOrder.poll();
+
+            if (oldest == null) {
+                return;
+            }
+
+            queued.decrementAndGet();
+
+            if (entries.remove(oldest.key(), oldest) && oldest.expiresAtMs() > now) {
+                evictions.increment();
+            }
+        }
+    }
+
+}
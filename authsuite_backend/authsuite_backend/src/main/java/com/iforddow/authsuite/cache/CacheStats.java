@@ -0,0 +1,29 @@
+package com.iforddow.authsuite.cache;
+
+/**
+* A point-in-time view of the counters of a BoundedCache.
+*
+* @param hits The number of lookups that found a live entry.
+* @param misses The number of lookups that found no live entry.
+* @param evictions The number of entries removed to stay within the size bound.
+* @param size The number of entries currently held.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public record CacheStats(long hits, long misses, long evictions, int size) {
+
+    /**
+    * A method to get the share of lookups that were hits.
+    *
+    * @return The hit ratio between 0 and 1, or 0 if there were no lookups.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public double hitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.iforddow.authsuite.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+* A Bloom filter over 128-bit keys that forgets old keys in whole generations.
+* Keys are added to the current generation and looked up in the current and the
+* previous one; rolling over clears the previous generation and makes it current,
+* so a key is remembered for at least one full generation after it was added.
+* A lookup reads a fixed number of words and does not allocate or take a lock.
+* It may report a key that was never added, at the configured rate, but never
+* misses a key that was added within the last generation.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public class RollingBloomFilter {
+
+    // The bits of the two generations
+    private final AtomicLongArray[] generations;
+
+    // The index of the generation new keys are added to
+    private volatile int current;
+
+    // The number of bits per generation minus one; the number of bits is a power of two
+    private final long bitMask;
+
+    // The number of bits set per key
+    private final int hashes;
+
+    /**
+    * A constructor for the RollingBloomFilter class.
+    *
+    * @param expectedKeys The number of keys expected per generation.
+    * @param falsePositiveRate The acceptable rate of false positives at the expected number of keys.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public RollingBloomFilter(int expectedKeys, double falsePositiveRate) {
+        if (expectedKeys <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("The expected keys and false positive rate must be positive");
+        }
+
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (ln2 * ln2));
+        long bits = Long.highestOneBit(Math.max(64, optimalBits) - 1) << 1;
+
+        if (bits / 64 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The Bloom filter is too large");
+        }
+
+        this.bitMask = bits - 1;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expectedKeys * ln2));
+        this.generations = new AtomicLongArray[] {
+                new AtomicLongArray((int) (bits / 64)),
+                new AtomicLongArray((int) (bits / 64))
+        };
+    }
+
+    /**
+    * A method to add a key to the current generation.
+    *
+    * @param high The most significant bits of the key.
+    * @param low The least significant bits of the key.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public synchronized void add(long high, long low) {
+        AtomicLongArray bits = generations[current];
+        long h1 = mix(high);
+        long h2 = mix(low) | 1;
+
+        for (int i = 0; i < hashes; i++) {
+            long bit = (h1 + i * h2) & bitMask;
+            int word = (int) (bit >>> 6);
+            long flag = 1L << bit;
+
+            long value = bits.get(word);
+            while ((value & flag) == 0 && !bits.compareAndSet(word, value, value | flag)) {
+                value = bits.get(word);
+            }
+        }
+    }
+
+    /**
+    * A method to check if a key may have been added within the last two generations.
+    *
+    * @param high The most significant bits of the key.
+    * @param low The least significant bits of the key.
+    * @return false if the key was certainly not added, true if it probably was.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public boolean mightContain(long high, long low) {
+        long h1 = mix(high);
+        long h2 = mix(low) | 1;
+
+        return contains(generations[0], h1, h2) || contains(generations[1], h1, h2);
+    }
+
+    /**
+    * A method to start a new generation, forgetting the keys of the previous one.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public synchronized void rollOver() {
+        int next = current ^ 1;
+        AtomicLongArray bits = generations[next];
+
+        for (int i = 0; i < bits.length(); i++) {
+            bits.set(i, 0);
+        }
+
+        current = next;
+    }
+
+    /**
+    * A method to get the number of bits per generation.
+    *
+    * @return The number of bits.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public long bitSize() {
+        return bitMask + 1;
+    }
+
+    private boolean contains(AtomicLongArray bits, long h1, long h2) {
+        for (int i = 0; i < hashes; i++) {
+            long bit = (h1 + i * h2) & bitMask;
+
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+
+}
@@ -1,14 +1,17 @@
 package com.iforddow.authsuite.config;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
 * A configuration class for the application.
+* Enables scheduling for background work such as write-behind flushes.
 *
 * @author IFD
 * @since 2025-06-14
 * */
 @Configuration
+@EnableScheduling
 @RequiredArgsConstructor
 public class ApplicationConfig {
 
@@ -1,8 +1,18 @@
 package com.iforddow.authsuite.config;
 
 import com.iforddow.authsuite.filter.JwtFilter;
+import com.iforddow.authsuite.impl.UserDetailsServiceImpl;
+import com.iforddow.authsuite.jwt.AuthorizationVersions;
+import com.iforddow.authsuite.jwt.JwtAuthenticationMode;
+import com.iforddow.authsuite.jwt.TokenRevocationList;
+import com.iforddow.authsuite.jwt.VerifiedTokenCache;
+import com.iforddow.authsuite.password.Argon2Calibrator;
+import com.iforddow.authsuite.password.BoundedPasswordEncoder;
+import com.iforddow.authsuite.password.PasswordEncoders;
+import com.iforddow.authsuite.password.PasswordHashingExecutor;
 import com.iforddow.authsuite.service.JwtService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -14,13 +24,11 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.*;
-import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -40,7 +48,39 @@ public class SecurityConfig {
     private final JwtService jwtService;
 
     // UserDetailsService is used to load user-specific data during authentication
-    private final UserDetailsService userDetailsService;
+    private final UserDetailsServiceImpl userDetailsService;
+
+    // VerifiedTokenCache lets the JwtFilter skip verification of tokens it has already seen
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    // TokenRevocationList lets the JwtFilter reject tokens revoked before they expire
+    private final TokenRevocationList tokenRevocationList;
+
+    // AuthorizationVersions lets the JwtFilter reject tokens minted before an authorization change
+    private final AuthorizationVersions authorizationVersions;
+
+    // PasswordHashingExecutor bounds the CPU and memory spent on password hashing
+    private final PasswordHashingExecutor passwordHashingExecutor;
+
+    // Whether the configured Argon2 cost is benchmarked against the target on this host at startup
+    @Value("${password.argon2.calibrate:true}")
+    private boolean calibrateArgon2;
+
+    // The p99 verify latency the configured cost is checked against, in milliseconds
+    @Value("${password.argon2.target_ms:50}")
+    private double argon2TargetMs;
+
+    // The Argon2 memory cost in kilobytes
+    @Value("${password.argon2.memory_kb:16384}")
+    private int argon2MemoryKb;
+
+    // The Argon2 iterations, the same on every host of the cluster
+    @Value("${password.argon2.iterations:2}")
+    private int argon2Iterations;
+
+    // How the JwtFilter builds the authentication for a valid token
+    @Value("${jwt.auth_mode:DATABASE}")
+    private JwtAuthenticationMode jwtAuthMode;
 
     /**
     * A bean to provide the SecurityFilterChain for the application.
@@ -59,7 +99,8 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/auth/api/**").permitAll())
+                        .requestMatchers("/auth/api/**").permitAll()
+                        .requestMatchers("/.well-known/**").permitAll())
                 .addFilterBefore(jwtAuthFilter(), UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
@@ -69,28 +110,47 @@ public class SecurityConfig {
      * The default encoding algorithm is Argon2, but it also supports legacy encoders like bcrypt, pbkdf2, scrypt, and sha256.
      * Note that the `DelegatingPasswordEncoder` is used to allow for multiple password encodings, but the application
      * will only ever use Argon2 for new passwords. Legacy encoders are included for compatibility with existing passwords.
+     * Hashing runs on the PasswordHashingExecutor rather than on request threads.
+     * The cost of the default Argon2 encoder comes from configuration, so every host of a cluster
+     * hashes alike, and hashes stored under another id or a lower cost report true from
+     * `upgradeEncoding`, so they are re-encoded on login.
      *
      * @return a DelegatingPasswordEncoder with the specified encoders
      */
-    @SuppressWarnings("deprecation")
     @Bean
     public PasswordEncoder passwordEncoder() {
 
-        String defaultEncodingId = "argon2@SpringSecurity_v5_8";
+        Map<String, PasswordEncoder> encoders = PasswordEncoders.byId(defaultArgon2Encoder());
 
-        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        return new BoundedPasswordEncoder(new DelegatingPasswordEncoder(PasswordEncoders.DEFAULT_ID, encoders), passwordHashingExecutor);
+    }
 
-        encoders.put("bcrypt", new BCryptPasswordEncoder()); // used only for legacy support
-        encoders.put("noop", NoOpPasswordEncoder.getInstance()); // used only for legacy support
-        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_5()); // used only for legacy support
-        encoders.put("pbkdf2@SpringSecurity_v5_8", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8()); // used only for legacy support
-        encoders.put("scrypt", SCryptPasswordEncoder.defaultsForSpringSecurity_v4_1()); // used only for legacy support
-        encoders.put("scrypt@SpringSecurity_v5_8", SCryptPasswordEncoder.defaultsForSpringSecurity_v5_8()); // used only for legacy support
-        encoders.put("argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_2()); // used only for legacy support
-        encoders.put("sha256", new StandardPasswordEncoder()); // used only for legacy support
-        encoders.put("argon2@SpringSecurity_v5_8", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+    /**
+    * A method to build the Argon2 encoder used for new passwords, with the configured cost.
+    * The cost is never chosen per host: a host picking a higher cost would have
+    * `upgradeEncoding` re-hash every password it verifies, ratcheting the whole cluster up to
+    * its fastest host. When calibration is enabled, the configured cost is only benchmarked on
+    * this host, and a warning suggests another number of iterations if it is off the target.
+    *
+    * @return The Argon2 encoder with the configured cost.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private Argon2PasswordEncoder defaultArgon2Encoder() {
+
+        if (calibrateArgon2) {
+            Argon2Calibrator.Result result = Argon2Calibrator.calibrate(argon2MemoryKb, argon2Iterations, argon2TargetMs);
 
-        return new DelegatingPasswordEncoder(defaultEncodingId, encoders);
+            if (result.p99Ms() > argon2TargetMs || result.iterations() > argon2Iterations) {
+                System.out.println("Warning: Argon2 m=" + argon2MemoryKb + "KB, t=" + argon2Iterations
+                        + " is off the " + argon2TargetMs + "ms verify target on this host; it would calibrate to t="
+                        + result.iterations() + " (p99 verify " + String.format("%.1f", result.p99Ms())
+                        + "ms). Set password.argon2.iterations on every host to change the cost.");
+            }
+        }
+
+        return Argon2Calibrator.encoder(argon2MemoryKb, argon2Iterations);
     }
 
     /**
@@ -112,6 +172,8 @@ public class SecurityConfig {
     * A bean to provide the JwtFilter for the application.
     * This filter is responsible for validating JWT tokens in incoming requests
     * and setting the authentication context if the token is valid.
+    * In database mode the filter reads the user past the snapshot cache, so role
+    * changes and deletions apply to the next request.
     *
     * @return JwtFilter instance
     *
@@ -120,7 +182,11 @@ public class SecurityConfig {
     * */
     @Bean
     public JwtFilter jwtAuthFilter() {
-        return new JwtFilter(jwtService, userDetailsService);
+        UserDetailsService users = jwtAuthMode == JwtAuthenticationMode.DATABASE
+                ? userDetailsService::loadCurrentUserByUsername
+                : userDetailsService;
+
+        return new JwtFilter(jwtService, users, jwtAuthMode, verifiedTokenCache, tokenRevocationList, authorizationVersions);
     }
 
 }
@@ -1,7 +1,12 @@
 package com.iforddow.authsuite.config;
 
+import com.iforddow.authsuite.ratelimit.RateLimitInterceptor;
+import com.iforddow.authsuite.ratelimit.RateLimiter;
+import com.iforddow.authsuite.storage.AssetStore;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.PathMatchConfigurer;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -14,8 +19,15 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 * @since 2025-06-14
 */
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    // The content-addressed store for uploaded assets
+    private final AssetStore assetStore;
+
+    // The rate limiter of the credential endpoints
+    private final RateLimiter rateLimiter;
+
     /**
      * Configures path matching for REST controllers.
      * This method adds a prefix to the paths of all REST controllers annotated with @RestController.
@@ -30,9 +42,28 @@ public class WebConfig implements WebMvcConfigurer {
         configurer.addPathPrefix("/auth/api", c -> c.isAnnotationPresent(RestController.class));
     }
 
+    /**
+     * Registers the per-address rate limits of the credential endpoints.
+     *
+     * @param registry InterceptorRegistry instance to register interceptors
+     *
+     * @author IFD
+     * @date 2026-10-18
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RateLimitInterceptor(rateLimiter, RateLimiter.Limit.LOGIN_IP))
+                .addPathPatterns("/auth/api/login");
+
+        registry.addInterceptor(new RateLimitInterceptor(rateLimiter, RateLimiter.Limit.REGISTER_IP))
+                .addPathPatterns("/auth/api/register");
+    }
+
     /**
      * Configures resource handlers for serving static files.
      * This method maps requests to the "/uploads/**" path to the local file system directory "/opt/authsuite/uploads/".
+     * Content-addressed assets under "/uploads/assets/" never change, so they are cached for a year as immutable,
+     * with the content hash from the file name as a strong ETag. Range requests are handled by the resource handler.
      *
      * @param registry ResourceHandlerRegistry instance to register resource handlers
      *
@@ -41,6 +72,11 @@ public class WebConfig implements WebMvcConfigurer {
      */
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler(AssetStore.URL_PREFIX + "**")
+                .addResourceLocations("file:" + assetStore.getDirectory() + "/")
+                .setCacheControl(AssetStore.CACHE_CONTROL)
+                .setEtagGenerator(resource -> AssetStore.etag(resource.getFilename()));
+
         registry.addResourceHandler("/uploads/**")
                 .addResourceLocations("file:/opt/authsuite/uploads/");
     }
@@ -4,12 +4,14 @@ import com.iforddow.authsuite.dto.UserDTO;
 import com.iforddow.authsuite.request.LoginRequest;
 import com.iforddow.authsuite.request.RegisterRequest;
 import com.iforddow.authsuite.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 import java.util.Map;
 
@@ -50,9 +52,9 @@ public class AuthController {
     * @date 2025-06-15
     * */
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> login(@RequestBody LoginRequest loginRequest, HttpServletResponse response) {
+    public ResponseEntity<Map<String, Object>> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request, HttpServletResponse response) {
         // Delegate the login request to the AuthService
-        return authService.login(loginRequest, response);
+        return authService.login(loginRequest, request, response);
     }
 
     /**
@@ -65,9 +67,29 @@ public class AuthController {
     * @date 2025-06-15
     * */
     @PostMapping("/refresh")
-    public ResponseEntity<Map<String, Object>> refresh(@CookieValue("auth_rt") String refreshToken) {
+    public ResponseEntity<Map<String, Object>> refresh(@CookieValue("auth_rt") String refreshToken, HttpServletResponse response) {
         // Delegate the refresh request to the AuthService
-        return authService.refreshToken(refreshToken);
+        return authService.refreshToken(refreshToken, response);
+    }
+
+    /**
+    * A method to handle logout requests.
+    *
+    * @param refreshToken The refresh token from the request cookie, if any.
+    * @param authorization The Authorization header carrying the access token, if any.
+    * @return An empty ResponseEntity; the session and access token are revoked and the cookie cleared.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@CookieValue(name = "auth_rt", required = false) String refreshToken,
+                                       @RequestHeader(name = "Authorization", required = false) String authorization,
+                                       HttpServletResponse response) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+
+        // Delegate the logout request to the AuthService
+        return authService.logout(refreshToken, accessToken, response);
     }
 
 }
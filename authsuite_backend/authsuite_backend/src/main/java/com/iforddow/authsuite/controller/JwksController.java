@@ -0,0 +1,39 @@
+package com.iforddow.authsuite.controller;
+
+import com.iforddow.authsuite.service.JwksService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+/**
+* A controller for the JSON Web Key Set of the token signing keys.
+* It is a plain @Controller so the set is served at the well-known path at the
+* root of the server, outside the /auth/api prefix of the REST controllers.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Controller
+@ResponseBody
+@RequiredArgsConstructor
+public class JwksController {
+
+    // JwksService for the published key set
+    private final JwksService jwksService;
+
+    /**
+    * A method to retrieve the public keys that verify our tokens.
+    *
+    * @return A ResponseEntity containing the JWK set as JSON, or 304 if it matches If-None-Match.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<byte[]> getJwks() {
+        return jwksService.getJwks();
+    }
+
+}
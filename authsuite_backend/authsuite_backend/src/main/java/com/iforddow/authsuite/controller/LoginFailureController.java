@@ -0,0 +1,43 @@
+package com.iforddow.authsuite.controller;
+
+import com.iforddow.authsuite.ratelimit.FailedLoginTracker;
+import com.iforddow.authsuite.ratelimit.HeavyHitters;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+* A controller for watching failed logins, for example during a credential stuffing attack.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@RestController
+@RequiredArgsConstructor
+public class LoginFailureController {
+
+    // FailedLoginTracker for the failure counts
+    private final FailedLoginTracker failedLoginTracker;
+
+    /**
+    * A method to list the accounts and client addresses with the most failed logins in the window.
+    *
+    * @return A ResponseEntity containing the top offenders of each source, highest count first.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @GetMapping("/login-failures/top")
+    @PreAuthorize("hasAuthority('logins.audit')")
+    public ResponseEntity<Map<String, List<HeavyHitters.Entry>>> getTopOffenders() {
+        return ResponseEntity.ok(Map.of(
+                "accounts", failedLoginTracker.getTopOffenders(FailedLoginTracker.Source.ACCOUNT),
+                "addresses", failedLoginTracker.getTopOffenders(FailedLoginTracker.Source.ADDRESS)));
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.iforddow.authsuite.controller;
+
+import com.iforddow.authsuite.dto.SessionDTO;
+import com.iforddow.authsuite.service.SessionService;
+import com.iforddow.authsuite.utils.AuthSuiteUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+* A controller for the sessions of the signed-in user.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@RestController
+@RequiredArgsConstructor
+public class SessionController {
+
+    // SessionService for listing and revoking sessions
+    private final SessionService sessionService;
+
+    /**
+    * A method to list the live sessions of the signed-in user.
+    *
+    * @param authentication The authentication of the request.
+    * @return A ResponseEntity containing the sessions, most recently refreshed first.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @GetMapping("/sessions")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<SessionDTO>> getSessions(Authentication authentication) {
+        return sessionService.getSessions(AuthSuiteUtils.currentUserId(authentication));
+    }
+
+    /**
+    * A method to revoke one of the sessions of the signed-in user.
+    *
+    * @param id The id of the session.
+    * @param authentication The authentication of the request.
+    * @return An empty ResponseEntity.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @DeleteMapping("/sessions/{id}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> revokeSession(@PathVariable UUID id, Authentication authentication) {
+        return sessionService.revokeSession(AuthSuiteUtils.currentUserId(authentication), id);
+    }
+
+}
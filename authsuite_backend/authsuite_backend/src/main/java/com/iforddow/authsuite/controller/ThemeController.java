@@ -1,6 +1,5 @@
 package com.iforddow.authsuite.controller;
 
-import com.iforddow.authsuite.dto.ThemeDTO;
 import com.iforddow.authsuite.exception.BadBodyException;
 import com.iforddow.authsuite.request.ThemeRequest;
 import com.iforddow.authsuite.service.ThemeService;
@@ -25,13 +24,13 @@ public class ThemeController {
     /**
     * A method to retrieve the current theme settings.
     *
-    * @return A ResponseEntity containing the current ThemeDTO.
+    * @return A ResponseEntity containing the current ThemeDTO as JSON, or 304 if it matches If-None-Match.
     *
     * @author IFD
     * @date 2025-06-19
     * */
     @GetMapping("/theme")
-    public ResponseEntity<ThemeDTO> getTheme() {
+    public ResponseEntity<byte[]> getTheme() {
 
         return themeService.getTheme();
 
@@ -43,7 +42,7 @@ public class ThemeController {
     * @param themeRequest The request object containing the theme settings to update.
     * @param reset A boolean flag indicating whether to reset the theme settings.
     *
-    * @return A ResponseEntity containing the updated ThemeDTO.
+    * @return A ResponseEntity containing the updated ThemeDTO as JSON.
     *
     * @throws BadBodyException if the last updated timestamp or user is null or empty.
     * @throws RuntimeException if the user specified in the request does not exist.
@@ -52,7 +51,7 @@ public class ThemeController {
     * @date 2025-06-19
     * */
     @PatchMapping(value = "/theme", consumes = "multipart/form-data")
-    public ResponseEntity<ThemeDTO> updateTheme(@ModelAttribute ThemeRequest themeRequest,
+    public ResponseEntity<byte[]> updateTheme(@ModelAttribute ThemeRequest themeRequest,
                                                 @RequestParam(name = "reset", required = false, defaultValue = "false") boolean reset) {
         return themeService.updateTheme(themeRequest, reset);
     }
@@ -0,0 +1,44 @@
+package com.iforddow.authsuite.controller;
+
+import com.iforddow.authsuite.dto.IntrospectionDTO;
+import com.iforddow.authsuite.request.IntrospectionRequest;
+import com.iforddow.authsuite.service.IntrospectionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+* A controller for gateways that validate access tokens through AuthSuite.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@RestController
+@RequiredArgsConstructor
+public class TokenController {
+
+    // IntrospectionService for verifying batches of tokens
+    private final IntrospectionService introspectionService;
+
+    /**
+    * A method to introspect a batch of access tokens in one round-trip.
+    *
+    * @param request The request containing the tokens.
+    * @return A ResponseEntity containing one result per token, in the order of the request.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @PostMapping("/tokens/introspect")
+    @PreAuthorize("hasAuthority('tokens.introspect')")
+    public ResponseEntity<Map<String, List<IntrospectionDTO>>> introspect(@RequestBody IntrospectionRequest request) {
+        return introspectionService.introspect(request);
+    }
+
+}
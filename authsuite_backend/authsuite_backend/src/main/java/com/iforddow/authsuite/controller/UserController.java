@@ -0,0 +1,42 @@
+package com.iforddow.authsuite.controller;
+
+import com.iforddow.authsuite.dto.UserPageDTO;
+import com.iforddow.authsuite.request.UserSearchRequest;
+import com.iforddow.authsuite.service.UserSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+* A controller for listing users in the admin tooling.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@RestController
+@RequiredArgsConstructor
+public class UserController {
+
+    // UserSearchService for finding pages of users
+    private final UserSearchService userSearchService;
+
+    /**
+    * A method to list users, newest first, filtered by email prefix, creation and
+    * last-active ranges and role. Follow nextCursor from each page to get the next one.
+    *
+    * @param request The filters, page size and cursor of the search.
+    * @return A ResponseEntity containing the page of users.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @GetMapping("/users")
+    @PreAuthorize("hasAuthority('users.read')")
+    public ResponseEntity<UserPageDTO> searchUsers(@ModelAttribute UserSearchRequest request) {
+        return userSearchService.search(request);
+    }
+
+}
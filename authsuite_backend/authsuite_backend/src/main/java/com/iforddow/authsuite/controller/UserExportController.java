@@ -0,0 +1,61 @@
+package com.iforddow.authsuite.controller;
+
+import com.iforddow.authsuite.importer.ImportFormat;
+import com.iforddow.authsuite.service.UserExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+* A controller for exporting users in bulk.
+* The export is written straight to the response as it is read from the database.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@RestController
+@RequiredArgsConstructor
+public class UserExportController {
+
+    // UserExportService for streaming the users
+    private final UserExportService userExportService;
+
+    /**
+    * A method to export every user as NDJSON or CSV.
+    *
+    * @param format The format of the export, ndjson or csv.
+    * @param include The optional data to add to each user: roles, permissions and/or fields.
+    * @param response The response the export is written to.
+    *
+    * @throws IOException if the response stream cannot be opened.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @GetMapping("/users/export")
+    @PreAuthorize("hasAuthority('users.export')")
+    public void exportUsers(@RequestParam(name = "format", defaultValue = "ndjson") String format,
+                            @RequestParam(name = "include", required = false, defaultValue = "") List<String> include,
+                            HttpServletResponse response) throws IOException {
+
+        // Validate the parameters before anything is written to the response
+        ImportFormat exportFormat = ImportFormat.fromName(format);
+        Set<UserExportService.Include> includes = UserExportService.parseIncludes(include);
+
+        response.setContentType(exportFormat == ImportFormat.CSV ? "text/csv;charset=UTF-8" : "application/x-ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"users." + exportFormat.name().toLowerCase(Locale.ROOT) + "\"");
+
+        userExportService.exportUsers(response.getOutputStream(), exportFormat, includes);
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.iforddow.authsuite.controller;
+
+import com.iforddow.authsuite.dto.ImportJobDTO;
+import com.iforddow.authsuite.importer.ImportFormat;
+import com.iforddow.authsuite.importer.ImportJob;
+import com.iforddow.authsuite.service.UserImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+* A controller for importing users in bulk.
+* The import file is streamed from the request body, so its size is not limited
+* by memory. Progress can be polled while the import runs.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@RestController
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('users.import')")
+public class UserImportController {
+
+    // UserImportService for running the imports
+    private final UserImportService userImportService;
+
+    /**
+    * A method to import users from a CSV or NDJSON request body.
+    *
+    * @param request The request holding the import file.
+    * @return A ResponseEntity containing the finished job.
+    *
+    * @throws IOException if the request body cannot be opened.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @PostMapping(value = "/users/import", consumes = { "text/csv", "application/x-ndjson" })
+    public ResponseEntity<ImportJobDTO> importUsers(HttpServletRequest request) throws IOException {
+
+        ImportJob job = userImportService.importUsers(request.getInputStream(),
+                ImportFormat.fromContentType(request.getContentType()));
+
+        HttpStatus status = job.getStatus() == ImportJob.Status.COMPLETED ? HttpStatus.OK : HttpStatus.INTERNAL_SERVER_ERROR;
+
+        return ResponseEntity.status(status).body(new ImportJobDTO(job));
+    }
+
+    /**
+    * A method to get the progress of an import.
+    *
+    * @param id The id of the import job.
+    * @return A ResponseEntity containing the job.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @GetMapping("/users/import/{id}")
+    public ResponseEntity<ImportJobDTO> getImport(@PathVariable UUID id) {
+        return ResponseEntity.ok(new ImportJobDTO(userImportService.getJob(id)));
+    }
+
+    /**
+    * A method to download the rows rejected by an import.
+    *
+    * @param id The id of the import job.
+    * @return A ResponseEntity containing the error file as CSV.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @GetMapping(value = "/users/import/{id}/errors", produces = "text/csv")
+    public ResponseEntity<Resource> getImportErrors(@PathVariable UUID id) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body(new FileSystemResource(userImportService.getJob(id).getErrorFile()));
+    }
+
+}
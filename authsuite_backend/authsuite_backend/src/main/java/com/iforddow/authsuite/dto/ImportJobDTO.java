@@ -0,0 +1,30 @@
+package com.iforddow.authsuite.dto;
+
+import com.iforddow.authsuite.importer.ImportJob;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+* A Data Transfer Object (DTO) for the progress of a bulk user import.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public record ImportJobDTO(UUID id, ImportJob.Status status, long rowsRead, long imported, long rejected,
+                           Instant startedAt, Instant finishedAt, String failure) {
+
+    /**
+    * A constructor to create an ImportJobDTO from an ImportJob.
+    *
+    * @param job The ImportJob to convert.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public ImportJobDTO(ImportJob job) {
+        this(job.getId(), job.getStatus(), job.getRowsRead().get(), job.getImported().get(), job.getRejected().get(),
+                job.getStartedAt(), job.getFinishedAt(), job.getFailure());
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.iforddow.authsuite.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+* A Data Transfer Object (DTO) for the introspection result of one token, after RFC 7662.
+* Inactive tokens carry only the active flag, so a gateway learns nothing about why a
+* token was rejected.
+*
+* @param active Whether the token is a valid, unexpired and unrevoked access token.
+* @param sub The email of the user the token was issued to.
+* @param uid The id of the user the token was issued to.
+* @param exp The expiration of the token in epoch seconds.
+* @param authorities The authorities signed into the token.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record IntrospectionDTO(boolean active, String sub, String uid, Long exp, List<String> authorities) {
+
+    // The result of every token that is not active
+    public static final IntrospectionDTO INACTIVE = new IntrospectionDTO(false, null, null, null, null);
+
+}
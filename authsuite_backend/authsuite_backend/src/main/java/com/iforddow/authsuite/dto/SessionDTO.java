@@ -0,0 +1,28 @@
+package com.iforddow.authsuite.dto;
+
+import com.iforddow.authsuite.session.RefreshSession;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+* A Data Transfer Object (DTO) for a live session of a user.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public record SessionDTO(UUID id, Instant createdAt, Instant lastRefreshedAt, Instant expiresAt) {
+
+    /**
+    * A constructor to create a SessionDTO from the current token of a session.
+    *
+    * @param session The current refresh token of the session.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public SessionDTO(RefreshSession session) {
+        this(session.familyId(), session.createdAt(), session.issuedAt(), session.expiresAt());
+    }
+
+}
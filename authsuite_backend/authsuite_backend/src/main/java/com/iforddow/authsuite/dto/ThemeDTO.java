@@ -2,6 +2,8 @@ package com.iforddow.authsuite.dto;
 
 import com.iforddow.authsuite.jpa.entity.ThemeSetting;
 
+import java.util.Map;
+
 /**
 * A Data Transfer Object (DTO) for theme settings.
 *
@@ -16,6 +18,8 @@ public record ThemeDTO(
         String titleFont,
         String logo,
         String favicon,
+        Map<String, String> logoVariants,
+        Map<String, String> faviconVariants,
         String lastUpdated,
         UserDTO lastUpdatedBy
 ) {
@@ -30,6 +34,8 @@ public record ThemeDTO(
                 themeSetting.getTitleFont(),
                 themeSetting.getLogoUrl(),
                 themeSetting.getFaviconUrl(),
+                themeSetting.getLogoVariants(),
+                themeSetting.getFaviconVariants(),
                 themeSetting.getLastUpdated() != null ? themeSetting.getLastUpdated().toString() : null,
                 themeSetting.getLastUpdatedBy() != null ? new UserDTO(themeSetting.getLastUpdatedBy()) : null
         );
@@ -0,0 +1,41 @@
+package com.iforddow.authsuite.dto;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+* The current theme, serialized once and served as is.
+* The body must not be modified after the snapshot is created.
+*
+* @param body The ThemeDTO encoded as JSON.
+* @param etag The strong entity tag of the body, quoted.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public record ThemeSnapshot(byte[] body, String etag) {
+
+    /**
+    * A method to create a snapshot from a serialized theme.
+    * The entity tag is derived from the bytes, so identical themes share a tag
+    * across restarts and instances.
+    *
+    * @param body The ThemeDTO encoded as JSON.
+    * @return The snapshot.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static ThemeSnapshot of(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            String tag = Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22);
+
+            return new ThemeSnapshot(body, "\"" + tag + "\"");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+}
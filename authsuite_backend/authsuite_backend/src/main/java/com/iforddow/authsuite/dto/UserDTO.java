@@ -1,4 +1,5 @@
 package com.iforddow.authsuite.dto;
+import com.iforddow.authsuite.impl.UserPrincipal;
 import com.iforddow.authsuite.jpa.entity.User;
 import java.util.UUID;
 
@@ -22,4 +23,16 @@ public record UserDTO(UUID id, String email) {
         this(user.getId(), user.getEmail());
     }
 
+    /**
+    * A constructor to create a UserDTO from a UserPrincipal snapshot.
+    *
+    * @param user The UserPrincipal to convert.
+    *
+    * @author IFD
+    * @since 2026-10-18
+    * */
+    public UserDTO(UserPrincipal user) {
+        this(user.id(), user.email());
+    }
+
 }
@@ -0,0 +1,16 @@
+package com.iforddow.authsuite.dto;
+
+import com.iforddow.authsuite.repository.projection.UserSummary;
+
+import java.util.List;
+
+/**
+* A Data Transfer Object (DTO) for a page of the user search.
+*
+* @param users The users of the page.
+* @param nextCursor The cursor of the next page, or null on the last page.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public record UserPageDTO(List<UserSummary> users, String nextCursor) {}
@@ -0,0 +1,67 @@
+package com.iforddow.authsuite.event;
+
+import java.util.UUID;
+
+/**
+* An event published when data that feeds a user's authorities changes.
+* Caches holding authorities listen for it to drop stale entries.
+*
+* @param userId The id of the affected user, or null if the change is not tied to one user.
+* @param roleId The id of the affected role, or null if the change is not tied to one role.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public record AuthorizationChangedEvent(UUID userId, Integer roleId) {
+
+    /**
+    * A method to create an event for a change to a single user.
+    *
+    * @param userId The id of the user.
+    * @return The event.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static AuthorizationChangedEvent forUser(UUID userId) {
+        return new AuthorizationChangedEvent(userId, null);
+    }
+
+    /**
+    * A method to create an event for a change to a role, affecting every user holding it.
+    *
+    * @param roleId The id of the role.
+    * @return The event.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static AuthorizationChangedEvent forRole(Integer roleId) {
+        return new AuthorizationChangedEvent(null, roleId);
+    }
+
+    /**
+    * A method to create an event for a change that may affect every user.
+    *
+    * @return The event.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static AuthorizationChangedEvent forEveryone() {
+        return new AuthorizationChangedEvent(null, null);
+    }
+
+    /**
+    * A method to check if the change may affect every user.
+    *
+    * @return true if the event is not tied to a user or a role.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public boolean affectsEveryone() {
+        return userId == null && roleId == null;
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.iforddow.authsuite.event;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+* An event published when users are created, by registration or by an import.
+* Caches remembering that an email has no account listen for it.
+*
+* @param emails The emails of the created users.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public record UsersCreatedEvent(Collection<String> emails) {
+
+    /**
+    * A method to create an event for a single registration.
+    *
+    * @param email The email of the user.
+    * @return The event.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static UsersCreatedEvent of(String email) {
+        return new UsersCreatedEvent(List.of(email));
+    }
+
+}
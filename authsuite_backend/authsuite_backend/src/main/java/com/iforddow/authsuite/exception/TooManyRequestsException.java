@@ -0,0 +1,18 @@
+package com.iforddow.authsuite.exception;
+
+import lombok.Getter;
+
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    // How long the client should wait before retrying, in seconds
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+
+        super(message != null && !message.isEmpty() ? message : "Too many requests");
+
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+
+    }
+}
@@ -1,23 +1,44 @@
 package com.iforddow.authsuite.filter;
 
+import com.iforddow.authsuite.impl.UserPrincipal;
+import com.iforddow.authsuite.jwt.AuthorizationVersions;
+import com.iforddow.authsuite.jwt.JwtAuthenticationMode;
+import com.iforddow.authsuite.jwt.TokenPrincipal;
+import com.iforddow.authsuite.jwt.TokenRevocationList;
+import com.iforddow.authsuite.jwt.VerifiedTokenCache;
 import com.iforddow.authsuite.service.JwtService;
+import com.iforddow.authsuite.utils.AuthorityRegistry;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
 
 /**
 * A filter that checks for JWT tokens in the Authorization header of HTTP requests.
 * If a valid JWT token is found, it authenticates the user and sets the security context.
 * This filter extends OncePerRequestFilter to ensure it is executed once per request.
+* Each token is parsed once. In stateless mode the authentication is built from the
+* signed claims of the token, otherwise the user is loaded through the UserDetailsService.
+* In stateless mode verified tokens are cached until they expire, so a repeated token is
+* resolved without verifying or decoding it again. Tokens revoked before they expire are not authenticated,
+* and neither are refresh tokens: they are signed with the same keys, but only the
+* refresh endpoint may accept them, where rotation and reuse detection apply.
+* Tokens minted before a change to the user's roles or permissions are refused as well:
+* their authorization version is behind the user's current one.
 *
 * @author IFD
 * @date 2025-06-15
@@ -30,18 +51,40 @@ public class JwtFilter extends OncePerRequestFilter {
     // Initialize the UserDetailsService
     private final UserDetailsService userDetailsService;
 
+    // How the authentication is built for a valid token
+    private final JwtAuthenticationMode mode;
+
+    // The cache of tokens that were already verified
+    private final VerifiedTokenCache tokenCache;
+
+    // The list of tokens revoked before they expire
+    private final TokenRevocationList revocationList;
+
+    // The current authorization versions of the users
+    private final AuthorizationVersions authorizationVersions;
+
     /**
     * A constructor for the JwtFilter class.
     *
     * @param jwtService The service used for JWT operations.
     * @param userDetailsService The service used to load user details.
+    * @param mode How the authentication is built for a valid token.
+    * @param tokenCache The cache of tokens that were already verified.
+    * @param revocationList The list of tokens revoked before they expire.
+    * @param authorizationVersions The current authorization versions of the users.
     *
     * @author IFD
     * @date 2025-06-15
     * */
-    public JwtFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtFilter(JwtService jwtService, UserDetailsService userDetailsService,
+                     JwtAuthenticationMode mode, VerifiedTokenCache tokenCache,
+                     TokenRevocationList revocationList, AuthorizationVersions authorizationVersions) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.mode = mode;
+        this.tokenCache = tokenCache;
+        this.revocationList = revocationList;
+        this.authorizationVersions = authorizationVersions;
     }
 
     /**
@@ -70,25 +113,100 @@ public class JwtFilter extends OncePerRequestFilter {
             return;
         }
 
+        if(SecurityContextHolder.getContext().getAuthentication() != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         String jwtToken = authHeader.substring(7);
-        String username = jwtService.getUsernameFromToken(jwtToken);
+        // In database mode every request reads the user, so nothing is served from the cache
+        boolean cacheable = mode == JwtAuthenticationMode.STATELESS;
+        UsernamePasswordAuthenticationToken authToken = cacheable ? tokenCache.get(jwtToken) : null;
 
-        if(username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if(authToken == null) {
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            Claims claims = jwtService.parseClaims(jwtToken);
+            UUID tokenId = claims != null ? JwtService.tokenId(claims) : null;
 
-            if(jwtService.validateJwtToken(jwtToken)) {
+            if(claims != null && claims.getSubject() != null && JwtService.isAccessToken(claims)
+                    && !revocationList.isRevoked(tokenId)) {
 
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+                authToken = mode == JwtAuthenticationMode.STATELESS
+                        && claims.get(JwtService.USER_ID_CLAIM) != null
+                        ? statelessAuthentication(claims)
+                        : databaseAuthentication(claims);
 
-                authToken.setDetails(userDetails);
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+                if(authToken != null && cacheable) {
+                    tokenCache.put(jwtToken, authToken, claims.getExpiration().getTime(), tokenId);
+                }
             }
         }
 
+        if(authToken != null) {
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+        }
+
         filterChain.doFilter(request, response);
 
     }
 
+    /**
+    * A method to build the authentication from the signed claims of a token.
+    *
+    * @param claims The verified claims of the token.
+    * @return The authentication for the token, or null if its authorization version is stale.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private UsernamePasswordAuthenticationToken statelessAuthentication(Claims claims) {
+
+        UUID userId = UUID.fromString(claims.get(JwtService.USER_ID_CLAIM, String.class));
+        int authzVersion = JwtService.authzVersion(claims);
+
+        if(!authorizationVersions.isCurrent(userId, authzVersion)) {
+            return null;
+        }
+
+        TokenPrincipal principal = new TokenPrincipal(userId, claims.getSubject(), authzVersion);
+
+        Collection<?> claimed = claims.get(JwtService.AUTHORITIES_CLAIM, Collection.class);
+        List<GrantedAuthority> authorities = new ArrayList<>(claimed != null ? claimed.size() : 0);
+
+        if(claimed != null) {
+            for (Object authority : claimed) {
+                authorities.add(AuthorityRegistry.intern(authority.toString()));
+            }
+        }
+
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                principal, null, authorities);
+
+        authToken.setDetails(principal);
+        return authToken;
+    }
+
+    /**
+    * A method to build the authentication by loading the user from the database.
+    *
+    * @param claims The verified claims of the token.
+    * @return The authentication for the token, or null if its authorization version is stale.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private UsernamePasswordAuthenticationToken databaseAuthentication(Claims claims) {
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+
+        if(userDetails instanceof UserPrincipal user && JwtService.authzVersion(claims) < user.authzVersion()) {
+            return null;
+        }
+
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+
+        authToken.setDetails(userDetails);
+        return authToken;
+    }
 }
@@ -0,0 +1,125 @@
+package com.iforddow.authsuite.impl;
+
+import com.iforddow.authsuite.exception.ServiceUnavailableException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+* An authentication provider for username and password logins.
+* It loads the user snapshot once, verifies the password against it and
+* returns the snapshot as the authenticated principal, so the login flow can
+* mint tokens and build its response without loading the user again.
+* Passwords stored under a legacy encoding or below the current Argon2 cost are
+* transparently re-encoded after a successful match.
+* A login for an unknown email still verifies the password against a dummy hash, so
+* it takes as long as a wrong password and response times do not reveal which emails
+* have an account, even when the email is answered from the absent-email cache.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Component
+@RequiredArgsConstructor
+public class LoginAuthenticationProvider implements AuthenticationProvider {
+
+    // Service loading user snapshots by email
+    private final UserDetailsServiceImpl userDetailsService;
+
+    // Encoder used to verify the submitted password
+    private final PasswordEncoder passwordEncoder;
+
+    // A hash of a random password, verified against when the email has no account
+    private volatile String dummyHash;
+
+    /**
+    * A method to authenticate a username and password.
+    *
+    * @param authentication The unauthenticated username and password token.
+    * @return An authenticated token whose principal is the UserPrincipal snapshot.
+    *
+    * @throws UsernameNotFoundException if no user exists with the given email.
+    * @throws BadCredentialsException if the password does not match.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+
+        String username = authentication.getName();
+        Object credentials = authentication.getCredentials();
+
+        UserPrincipal principal;
+
+        try {
+            principal = userDetailsService.loadUserByUsername(username);
+        } catch (UsernameNotFoundException ex) {
+            passwordEncoder.matches(credentials != null ? credentials.toString() : "", dummyHash());
+            throw ex;
+        }
+
+        if (credentials == null || !passwordEncoder.matches(credentials.toString(), principal.getPassword())) {
+            throw new BadCredentialsException("Invalid credentials provided");
+        }
+
+        if (passwordEncoder.upgradeEncoding(principal.getPassword())) {
+            principal = upgradePassword(principal, credentials.toString());
+        }
+
+        return UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+    }
+
+    /**
+    * A method to re-encode a password with the current encoding and cost.
+    * The upgrade is best effort: if the hashing engine is saturated the login
+    * still succeeds, and the upgrade is retried on a later login.
+    *
+    * @param principal The authenticated user.
+    * @param rawPassword The password that was just verified.
+    * @return The snapshot of the user with the re-encoded password.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private UserPrincipal upgradePassword(UserPrincipal principal, String rawPassword) {
+        try {
+            return userDetailsService.updatePassword(principal, passwordEncoder.encode(rawPassword));
+        } catch (ServiceUnavailableException ex) {
+            return principal;
+        }
+    }
+
+    /**
+    * A method to get the dummy hash, created with the current encoding and cost on first use.
+    *
+    * @return The dummy hash.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private String dummyHash() {
+        String hash = dummyHash;
+
+        if (hash == null) {
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            dummyHash = hash;
+        }
+
+        return hash;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+
+}
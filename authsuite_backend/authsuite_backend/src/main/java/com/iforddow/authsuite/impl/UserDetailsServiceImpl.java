@@ -1,28 +1,90 @@
 package com.iforddow.authsuite.impl;
 
+import com.iforddow.authsuite.cache.BoundedCache;
+import com.iforddow.authsuite.cache.CacheStats;
+import com.iforddow.authsuite.event.AuthorizationChangedEvent;
+import com.iforddow.authsuite.event.UsersCreatedEvent;
 import com.iforddow.authsuite.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
 * A service that implements UserDetailsService to load user details by username.
 * This service is used by Spring Security to authenticate users.
 * It retrieves user details from the UserRepository based on the provided username (email).
 * If the user is not found, it throws a UsernameNotFoundException.
+* Loaded users are cached as immutable UserPrincipal snapshots for a bounded time,
+* and dropped as soon as an AuthorizationChangedEvent concerning them is committed.
+* Emails without an account are remembered for a short time as well, so repeated
+* logins for unknown emails, the bulk of credential stuffing, do not reach the
+* database; a UsersCreatedEvent drops them once the account exists.
+* It also stores re-encoded passwords when a login upgrades a legacy or outdated hash.
 *
 * @author IFD
 * @date 2025-06-15
 * */
 @Service
-@RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     // Repository to access user data
     private final UserRepository userRepository;
 
+    // Read-only transaction used to build a snapshot on a cache miss
+    private final TransactionTemplate readOnlyTransaction;
+
+    // Cached snapshots keyed by email
+    private final BoundedCache<String, UserPrincipal> principalCache;
+
+    // The longest time a snapshot is served before it is reloaded
+    private final long principalTtlMs;
+
+    // Lower-cased emails recently found to have no account
+    private final BoundedCache<String, Boolean> absentCache;
+
+    // How long an email is remembered as having no account
+    private final long absentTtlMs;
+
+    // Counts user creations, so a lookup racing with one does not remember the email as absent
+    private final AtomicLong creations = new AtomicLong();
+
+    /**
+    * A constructor for the UserDetailsServiceImpl class.
+    *
+    * @param userRepository Repository to access user data.
+    * @param transactionManager Transaction manager used to build snapshots.
+    * @param maxSize The maximum number of cached snapshots.
+    * @param principalTtlMs The longest time a snapshot is served, which bounds how stale permissions can be.
+    * @param absentMaxSize The maximum number of emails remembered as having no account.
+    * @param absentTtlMs How long an email is remembered as having no account.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public UserDetailsServiceImpl(UserRepository userRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${auth.principal_cache.max_size:10000}") int maxSize,
+                                  @Value("${auth.principal_cache.ttl_ms:60000}") long principalTtlMs,
+                                  @Value("${auth.absent_cache.max_size:100000}") int absentMaxSize,
+                                  @Value("${auth.absent_cache.ttl_ms:30000}") long absentTtlMs) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.principalCache = new BoundedCache<>(maxSize);
+        this.principalTtlMs = principalTtlMs;
+        this.absentCache = new BoundedCache<>(absentMaxSize);
+        this.absentTtlMs = absentTtlMs;
+    }
+
     /**
      * Loads user details by username (email).
      *
@@ -31,8 +93,135 @@ public class UserDetailsServiceImpl implements UserDetailsService {
      * @throws UsernameNotFoundException if the user is not found
      */
     @Override
-    public UserDetails loadUserByUsername(String username) {
-        return userRepository.findByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+    public UserPrincipal loadUserByUsername(String username) {
+
+        UserPrincipal cached = principalCache.get(username);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        String absentKey = username != null ? username.toLowerCase(Locale.ROOT) : "";
+
+        if (absentCache.get(absentKey) != null) {
+            throw new UsernameNotFoundException("User not found with username: " + username);
+        }
+
+        long creationsBefore = creations.get();
+
+        UserPrincipal principal = readOnlyTransaction.execute(status -> userRepository.findWithAuthorizationByEmail(username)
+                .map(UserPrincipal::of)
+                .orElse(null));
+
+        if (principal == null) {
+            // A user created during the lookup may be the one looked up, so its absence is not remembered
+            if (creations.get() == creationsBefore) {
+                absentCache.put(absentKey, Boolean.TRUE, System.currentTimeMillis() + absentTtlMs);
+            }
+            throw new UsernameNotFoundException("User not found with username: " + username);
+        }
+
+        principalCache.put(username, principal, System.currentTimeMillis() + principalTtlMs);
+
+        return principal;
     }
+
+    /**
+    * A method to load a user from the database, past the snapshot caches.
+    * Used where a role change or a deletion must apply to the next request.
+    *
+    * @param username The email of the user.
+    * @return The current snapshot of the user.
+    *
+    * @throws UsernameNotFoundException if the user is not found.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public UserPrincipal loadCurrentUserByUsername(String username) {
+        UserPrincipal principal = readOnlyTransaction.execute(status -> userRepository.findWithAuthorizationByEmail(username)
+                .map(UserPrincipal::of)
+                .orElse(null));
+
+        if (principal == null) {
+            throw new UsernameNotFoundException("User not found with username: " + username);
+        }
+
+        return principal;
+    }
+
+    /**
+    * A method to store a re-encoded password for a user.
+    *
+    * @param user The user whose password was re-encoded.
+    * @param newPassword The new encoded password.
+    * @return The snapshot of the user with the new password.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @Override
+    public UserPrincipal updatePassword(UserDetails user, String newPassword) {
+        UserPrincipal principal = loadUserByUsername(user.getUsername());
+
+        userRepository.updatePassword(principal.id(), newPassword);
+
+        UserPrincipal updated = new UserPrincipal(principal.id(), principal.email(), newPassword,
+                principal.authorities(), principal.roleIds(), principal.authzVersion());
+
+        principalCache.put(updated.email(), updated, System.currentTimeMillis() + principalTtlMs);
+
+        return updated;
+    }
+
+    /**
+    * A method to drop cached snapshots affected by an authorization change.
+    * Runs after the change commits, or immediately when there is no transaction.
+    *
+    * @param event The authorization change.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorizationChanged(AuthorizationChangedEvent event) {
+        if (event.affectsEveryone()) {
+            principalCache.invalidateAll();
+        } else if (event.userId() != null) {
+            principalCache.invalidateIf(principal -> principal.id().equals(event.userId()));
+        } else {
+            principalCache.invalidateIf(principal -> principal.roleIds().contains(event.roleId()));
+        }
+    }
+
+    /**
+    * A method to forget that the emails of new users had no account.
+    * Runs after the users are committed, or immediately when there is no transaction.
+    *
+    * @param event The creation of the users.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUsersCreated(UsersCreatedEvent event) {
+        creations.incrementAndGet();
+
+        for (String email : event.emails()) {
+            absentCache.invalidate(email.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+    * A method to get the hit, miss and eviction counters of the snapshot cache.
+    *
+    * @return The cache statistics.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public CacheStats cacheStats() {
+        return principalCache.stats();
+    }
+
 }
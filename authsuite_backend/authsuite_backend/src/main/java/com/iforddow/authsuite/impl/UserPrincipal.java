@@ -0,0 +1,79 @@
+package com.iforddow.authsuite.impl;
+
+import com.iforddow.authsuite.jpa.entity.Role;
+import com.iforddow.authsuite.jpa.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+* An immutable snapshot of a user, used as the principal of authenticated requests.
+* Unlike the JPA User entity it holds no persistence context, so it can be cached
+* and shared between threads safely.
+*
+* @param id The id of the user.
+* @param email The email of the user.
+* @param password The encoded password of the user.
+* @param authorities The authorities granted to the user, shared with the user's authority snapshot.
+* @param roleIds The ids of the roles held by the user.
+* @param authzVersion The authorization version of the user.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public record UserPrincipal(
+        UUID id,
+        String email,
+        String password,
+        Set<GrantedAuthority> authorities,
+        Set<Integer> roleIds,
+        int authzVersion
+) implements UserDetails {
+
+    /**
+    * A method to create a snapshot of a user entity.
+    * The entity must still be attached, since its roles and permissions are read.
+    *
+    * @param user The user entity.
+    * @return The snapshot of the user.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static UserPrincipal of(User user) {
+        return new UserPrincipal(
+                user.getId(),
+                user.getEmail(),
+                user.getPassword(),
+                Set.copyOf(user.getAuthorities()),
+                user.getRoles() != null
+                        ? user.getRoles().stream().map(Role::getId).collect(Collectors.toUnmodifiableSet())
+                        : Set.of(),
+                user.getAuthzVersion() != null ? user.getAuthzVersion() : 0
+        );
+    }
+
+    @Override
+    public Set<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return "UserPrincipal[id=" + id + ", email=" + email + ", authorities=" + authorities + "]";
+    }
+
+}
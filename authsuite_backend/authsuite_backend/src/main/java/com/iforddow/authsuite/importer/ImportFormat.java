@@ -0,0 +1,94 @@
+package com.iforddow.authsuite.importer;
+
+import com.iforddow.authsuite.exception.BadBodyException;
+
+import java.util.Locale;
+
+/**
+* The file formats accepted by the bulk user import and produced by the user export.
+* CSV files need a header row naming the email and password columns,
+* NDJSON files hold one {"email": ..., "password": ...} object per line.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public enum ImportFormat {
+
+    CSV,
+    NDJSON;
+
+    /**
+    * A method to pick the format from a request content type.
+    *
+    * @param contentType The content type of the request.
+    * @return The matching import format.
+    *
+    * @throws BadBodyException if the content type is not supported.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static ImportFormat fromContentType(String contentType) {
+
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+
+        if (type.startsWith("text/csv")) {
+            return CSV;
+        }
+
+        if (type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")) {
+            return NDJSON;
+        }
+
+        throw new BadBodyException("Unsupported import content type, use text/csv or application/x-ndjson");
+    }
+
+    /**
+    * A method to pick the format from a request parameter such as csv or ndjson.
+    *
+    * @param name The name of the format, in any case.
+    * @return The matching format.
+    *
+    * @throws BadBodyException if the name is not a supported format.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static ImportFormat fromName(String name) {
+
+        for (ImportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+
+        throw new BadBodyException("Unsupported format " + name + ", use csv or ndjson");
+    }
+
+    /**
+    * A method to pick the format from a file name.
+    *
+    * @param fileName The name of the import file.
+    * @return The matching import format.
+    *
+    * @throws BadBodyException if the extension is not supported.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static ImportFormat fromFileName(String fileName) {
+
+        String name = fileName.toLowerCase(Locale.ROOT);
+
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+
+        throw new BadBodyException("Unsupported import file, use a .csv, .ndjson or .jsonl file");
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.iforddow.authsuite.importer;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+* The progress of a bulk user import.
+* Counters are updated by the import as each batch is written and can be
+* read at any time from other threads.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Getter
+public class ImportJob {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    // The id of the job
+    private final UUID id;
+
+    // The format of the import file
+    private final ImportFormat format;
+
+    // The file listing the rows that were rejected, one per line
+    private final Path errorFile;
+
+    // When the job started
+    private final Instant startedAt = Instant.now();
+
+    // When the job finished, or null while it is running
+    private volatile Instant finishedAt;
+
+    // The state of the job
+    private volatile Status status = Status.RUNNING;
+
+    // Why the job failed, or null if it did not
+    private volatile String failure;
+
+    // The number of rows read from the file
+    private final AtomicLong rowsRead = new AtomicLong();
+
+    // The number of users inserted
+    private final AtomicLong imported = new AtomicLong();
+
+    // The number of rows rejected
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+    * A constructor for the ImportJob class.
+    *
+    * @param id The id of the job.
+    * @param format The format of the import file.
+    * @param errorFile The file listing the rejected rows.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public ImportJob(UUID id, ImportFormat format, Path errorFile) {
+        this.id = id;
+        this.format = format;
+        this.errorFile = errorFile;
+    }
+
+    /**
+    * A method to mark the job as finished.
+    *
+    * @param failure Why the job failed, or null if every row was processed.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public void finish(String failure) {
+        this.failure = failure;
+        this.finishedAt = Instant.now();
+        this.status = failure == null ? Status.COMPLETED : Status.FAILED;
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.iforddow.authsuite.importer;
+
+/**
+* A single row read from an import file.
+*
+* @param line The line number of the row in the file.
+* @param email The email of the user, or null if the row could not be read.
+* @param password The plaintext or already encoded password, or null if the row could not be read.
+* @param error Why the row could not be read, or null for a well-formed row.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public record ImportRow(long line, String email, String password, String error) {
+
+    /**
+    * A method to create a row that could not be read.
+    *
+    * @param line The line number of the row in the file.
+    * @param error Why the row could not be read.
+    * @return The malformed row.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static ImportRow malformed(long line, String error) {
+        return new ImportRow(line, null, null, error);
+    }
+
+}
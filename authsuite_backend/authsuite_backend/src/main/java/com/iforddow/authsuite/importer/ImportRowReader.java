@@ -0,0 +1,238 @@
+package com.iforddow.authsuite.importer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iforddow.authsuite.exception.BadBodyException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+* A streaming reader for import files.
+* Rows are read one line at a time, so the memory used does not depend on
+* the size of the file. A row that cannot be parsed is returned as a malformed
+* row rather than failing the whole import.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public class ImportRowReader implements Closeable {
+
+    // The underlying line reader
+    private final BufferedReader reader;
+
+    // The format of the file
+    private final ImportFormat format;
+
+    // The mapper used to parse NDJSON lines
+    private final ObjectMapper objectMapper;
+
+    // The CSV column positions, read from the header row
+    private int emailColumn = -1;
+    private int passwordColumn = -1;
+
+    // The number of the last line read
+    private long line;
+
+    /**
+    * A constructor for the ImportRowReader class.
+    *
+    * @param in The stream holding the import file, in UTF-8.
+    * @param format The format of the file.
+    * @param objectMapper The mapper used to parse NDJSON lines.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public ImportRowReader(InputStream in, ImportFormat format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+    * A method to read the next row of the file.
+    * Blank lines are skipped.
+    *
+    * @return The next row, or null at the end of the file.
+    *
+    * @throws BadBodyException if a CSV file has no usable header row.
+    * @throws IOException if the stream cannot be read.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public ImportRow next() throws IOException {
+
+        String text;
+
+        while ((text = reader.readLine()) != null) {
+            line++;
+
+            if (text.isBlank()) {
+                continue;
+            }
+
+            if (format == ImportFormat.NDJSON) {
+                return parseJson(text);
+            }
+
+            if (emailColumn < 0) {
+                readHeader(text);
+                continue;
+            }
+
+            return parseCsv(text);
+        }
+
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+    * A method to locate the email and password columns from the CSV header.
+    *
+    * @param text The header line.
+    *
+    * @throws BadBodyException if either column is missing.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private void readHeader(String text) {
+
+        List<String> columns = splitCsv(text);
+
+        if (columns == null) {
+            throw new BadBodyException("The CSV header has an unterminated quoted field");
+        }
+
+        for (int i = 0; i < columns.size(); i++) {
+            String column = columns.get(i).trim().toLowerCase(Locale.ROOT);
+
+            // Tolerate the byte order mark some spreadsheet tools write
+            if (i == 0 && column.startsWith("\uFEFF")) {
+                column = column.substring(1);
+            }
+
+            if (column.equals("email")) {
+                emailColumn = i;
+            } else if (column.equals("password")) {
+                passwordColumn = i;
+            }
+        }
+
+        if (emailColumn < 0 || passwordColumn < 0) {
+            throw new BadBodyException("The CSV header must name an email and a password column");
+        }
+    }
+
+    /**
+    * A method to parse a CSV data line.
+    *
+    * @param text The line to parse.
+    * @return The parsed row.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private ImportRow parseCsv(String text) {
+
+        List<String> fields = splitCsv(text);
+
+        if (fields == null) {
+            return ImportRow.malformed(line, "Unterminated quoted field");
+        }
+
+        if (fields.size() <= Math.max(emailColumn, passwordColumn)) {
+            return ImportRow.malformed(line, "Missing email or password column");
+        }
+
+        return new ImportRow(line, fields.get(emailColumn).trim(), fields.get(passwordColumn), null);
+    }
+
+    /**
+    * A method to parse an NDJSON line.
+    *
+    * @param text The line to parse.
+    * @return The parsed row.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private ImportRow parseJson(String text) {
+
+        JsonNode node;
+
+        try {
+            node = objectMapper.readTree(text);
+        } catch (IOException e) {
+            return ImportRow.malformed(line, "Invalid JSON");
+        }
+
+        if (node == null || !node.isObject() || !node.path("email").isTextual() || !node.path("password").isTextual()) {
+            return ImportRow.malformed(line, "Each line must be an object with string email and password fields");
+        }
+
+        return new ImportRow(line, node.get("email").asText().trim(), node.get("password").asText(), null);
+    }
+
+    /**
+    * A method to split a CSV line into fields.
+    * Fields may be quoted, with "" standing for a quote inside a quoted field.
+    *
+    * @param text The line to split.
+    * @return The fields, or null if a quoted field is not terminated.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    static List<String> splitCsv(String text) {
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) {
+            return null;
+        }
+
+        fields.add(field.toString());
+
+        return fields;
+    }
+
+}
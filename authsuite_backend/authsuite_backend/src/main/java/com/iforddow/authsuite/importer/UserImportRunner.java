@@ -0,0 +1,62 @@
+package com.iforddow.authsuite.importer;
+
+import com.iforddow.authsuite.service.UserImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+* Runs a bulk user import from the command line.
+* Enabled by passing the file to import, for example
+* java -jar authsuite.jar --import.users.file=users.csv --spring.main.web-application-type=none
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "import.users.file")
+public class UserImportRunner implements ApplicationRunner {
+
+    // UserImportService for running the import
+    private final UserImportService userImportService;
+
+    // The application context, closed when the import is done
+    private final ConfigurableApplicationContext context;
+
+    // The file to import
+    @Value("${import.users.file}")
+    private String file;
+
+    // Whether the application exits once the import is done
+    @Value("${import.users.exit_on_completion:true}")
+    private boolean exitOnCompletion;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+
+        Path path = Path.of(file);
+        ImportJob job;
+
+        try (InputStream in = Files.newInputStream(path)) {
+            job = userImportService.importUsers(in, ImportFormat.fromFileName(path.getFileName().toString()));
+        }
+
+        System.out.println("Rejected rows of " + path + " were written to " + job.getErrorFile());
+
+        if (exitOnCompletion) {
+            int exitCode = job.getStatus() == ImportJob.Status.COMPLETED ? 0 : 1;
+            System.exit(SpringApplication.exit(context, () -> exitCode));
+        }
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.iforddow.authsuite.jpa.entity;
 
+import com.iforddow.authsuite.jpa.listener.AuthorizationChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -15,6 +16,7 @@ import java.util.UUID;
 @Getter
 @Setter
 @Entity
+@EntityListeners(AuthorizationChangeListener.class)
 @Table(name = "role")
 public class Role {
     @Id
@@ -5,10 +5,13 @@ import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.type.SqlTypes;
 
 import java.time.Instant;
+import java.util.Map;
 
 @Getter
 @Setter
@@ -45,6 +48,14 @@ public class ThemeSetting {
     @Column(name = "favicon_url")
     private String faviconUrl;
 
+    @Column(name = "logo_variants")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private Map<String, String> logoVariants;
+
+    @Column(name = "favicon_variants")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private Map<String, String> faviconVariants;
+
     @Column(name = "last_updated")
     private Instant lastUpdated;
 
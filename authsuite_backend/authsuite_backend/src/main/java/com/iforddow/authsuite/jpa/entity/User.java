@@ -1,4 +1,7 @@
 package com.iforddow.authsuite.jpa.entity;
+
+import com.iforddow.authsuite.jpa.listener.AuthorizationChangeListener;
+import com.iforddow.authsuite.utils.AuthorityRegistry;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -6,7 +9,6 @@ import lombok.*;
 import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.GenericGenerator;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.time.Instant;
@@ -20,8 +22,21 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@EntityListeners(AuthorizationChangeListener.class)
 @Table(name = "\"user\"")
+@NamedEntityGraph(
+        name = User.AUTHORIZATION_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode(value = "roles", subgraph = "role"),
+                @NamedAttributeNode("permissions")
+        },
+        subgraphs = @NamedSubgraph(name = "role", attributeNodes = @NamedAttributeNode("permissions"))
+)
 public class User implements UserDetails {
+
+    // Fetch plan loading the roles, their permissions and the direct permissions in one query
+    public static final String AUTHORIZATION_GRAPH = "User.authorization";
+
     @Id
     @GeneratedValue(generator = "UUID")
     @Column(name = "id", nullable = false)
@@ -55,7 +70,13 @@ public class User implements UserDetails {
     @Column(name = "password", nullable = false)
     private String password;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @NotNull
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "authz_version", nullable = false, insertable = false, updatable = false)
+    private Integer authzVersion = 0;
+
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "user_role",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -63,7 +84,7 @@ public class User implements UserDetails {
     )
     private Set<Role> roles;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "user_permission",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -71,24 +92,63 @@ public class User implements UserDetails {
     )
     private Set<Permission> permissions;
 
+    // Immutable snapshot of the authorities, built on first use and reset when roles or permissions are replaced
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient Set<GrantedAuthority> authoritySnapshot;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
+        Set<GrantedAuthority> snapshot = authoritySnapshot;
+
+        if (snapshot == null) {
+            snapshot = buildAuthorities();
+            authoritySnapshot = snapshot;
+        }
+
+        return snapshot;
+    }
+
+    public void setRoles(Set<Role> roles) {
+        this.roles = roles;
+        this.authoritySnapshot = null;
+    }
+
+    public void setPermissions(Set<Permission> permissions) {
+        this.permissions = permissions;
+        this.authoritySnapshot = null;
+    }
+
+    /*
+    * Builds the authority snapshot from the shared per-role sets and the direct permissions.
+    * A user with a single role and no direct permissions reuses the role's set as is.
+    */
+    private Set<GrantedAuthority> buildAuthorities() {
+        boolean hasRoles = roles != null && !roles.isEmpty();
+        boolean hasPermissions = permissions != null && !permissions.isEmpty();
+
+        if (hasRoles && !hasPermissions && roles.size() == 1) {
+            return AuthorityRegistry.forRole(roles.iterator().next());
+        }
+
         Set<GrantedAuthority> authorities = new HashSet<>();
 
         // Add permissions from roles
-        for (Role role : roles) {
-            authorities.add(new SimpleGrantedAuthority(role.getName()));
-            for (Permission perm : role.getPermissions()) {
-                authorities.add(new SimpleGrantedAuthority(perm.getName()));
+        if (hasRoles) {
+            for (Role role : roles) {
+                authorities.addAll(AuthorityRegistry.forRole(role));
             }
         }
 
         // Add direct user permissions
-        for (Permission perm : permissions) {
-            authorities.add(new SimpleGrantedAuthority(perm.getName()));
+        if (hasPermissions) {
+            for (Permission perm : permissions) {
+                authorities.add(AuthorityRegistry.intern(perm.getName()));
+            }
         }
 
-        return authorities;
+        return Set.copyOf(authorities);
     }
 
     @Override
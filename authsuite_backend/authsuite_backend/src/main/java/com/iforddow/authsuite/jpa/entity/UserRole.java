@@ -1,5 +1,6 @@
 package com.iforddow.authsuite.jpa.entity;
 
+import com.iforddow.authsuite.jpa.listener.AuthorizationChangeListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -9,6 +10,7 @@ import org.hibernate.annotations.OnDeleteAction;
 @Getter
 @Setter
 @Entity
+@EntityListeners(AuthorizationChangeListener.class)
 @Table(name = "user_role")
 public class UserRole {
     @EmbeddedId
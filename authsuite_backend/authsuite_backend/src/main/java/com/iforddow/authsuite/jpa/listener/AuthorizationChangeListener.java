@@ -0,0 +1,55 @@
+package com.iforddow.authsuite.jpa.listener;
+
+import com.iforddow.authsuite.event.AuthorizationChangedEvent;
+import com.iforddow.authsuite.jpa.entity.*;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+* A JPA entity listener that publishes an AuthorizationChangedEvent whenever
+* a user, a role, a permission or one of their mapping rows is written.
+* Listeners of the event run after the transaction commits, so caches are
+* never refilled from data that is about to be rolled back.
+* The authorization version of the affected users is raised by triggers on the
+* mapping tables in the same transaction; the event drops the cached versions,
+* so tokens minted before the change are refused as soon as it commits.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Component
+@RequiredArgsConstructor
+public class AuthorizationChangeListener {
+
+    // Publisher for the authorization change events
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+    * A method called by JPA after an entity is inserted, updated or deleted.
+    *
+    * @param entity The entity that was written.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        AuthorizationChangedEvent event = switch (entity) {
+            case User user -> AuthorizationChangedEvent.forUser(user.getId());
+            case UserRole userRole -> AuthorizationChangedEvent.forUser(userRole.getId().getUserId());
+            case UserPermission userPermission -> AuthorizationChangedEvent.forUser(userPermission.getId().getUserId());
+            case RolePermission rolePermission -> AuthorizationChangedEvent.forRole(rolePermission.getId().getRoleId());
+            case Role role -> AuthorizationChangedEvent.forRole(role.getId());
+            default -> AuthorizationChangedEvent.forEveryone();
+        };
+
+        eventPublisher.publishEvent(event);
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.iforddow.authsuite.jwt;
+
+import com.iforddow.authsuite.cache.BoundedCache;
+import com.iforddow.authsuite.event.AuthorizationChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+* The current authorization version of each user, used to refuse access tokens
+* minted before a change to the user's roles or permissions.
+* The database raises the version in triggers on the mapping tables, so every
+* writer bumps it, and each access token carries the version it was minted at.
+* Versions are cached for the principal cache TTL: this instance drops a user's
+* entry as soon as a change it made commits, and changes made elsewhere are picked
+* up within the TTL.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Component
+public class AuthorizationVersions {
+
+    // Reads the current version of a user
+    private static final String SELECT_SQL = "SELECT authz_version FROM \"user\" WHERE id = ?";
+
+    // The version cached for a user that no longer exists, newer than any token
+    private static final int DELETED = Integer.MAX_VALUE;
+
+    // JdbcTemplate used to read the versions
+    private final JdbcTemplate jdbcTemplate;
+
+    // The cached versions, keyed by user id
+    private final BoundedCache<UUID, Integer> versions;
+
+    // The longest time a version is served before it is read again
+    private final long ttlMs;
+
+    /**
+    * A constructor for the AuthorizationVersions class.
+    *
+    * @param jdbcTemplate JdbcTemplate used to read the versions.
+    * @param maxSize The maximum number of cached versions.
+    * @param ttlMs The longest time a version is served, which bounds how stale permissions can be.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public AuthorizationVersions(JdbcTemplate jdbcTemplate,
+                                 @Value("${auth.principal_cache.max_size:10000}") int maxSize,
+                                 @Value("${auth.principal_cache.ttl_ms:60000}") long ttlMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.versions = new BoundedCache<>(maxSize);
+        this.ttlMs = ttlMs;
+    }
+
+    /**
+    * A method to check that a token was minted at the current authorization version of its user.
+    *
+    * @param userId The id of the user.
+    * @param tokenVersion The authorization version signed into the token.
+    * @return true if the user exists and the token is not behind their current version.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public boolean isCurrent(UUID userId, int tokenVersion) {
+        Integer current = versions.get(userId);
+
+        if (current == null) {
+            current = load(userId);
+            versions.put(userId, current, System.currentTimeMillis() + ttlMs);
+        }
+
+        return tokenVersion >= current;
+    }
+
+    /**
+    * A method to drop cached versions affected by an authorization change.
+    * Runs after the change commits, or immediately when there is no transaction.
+    *
+    * @param event The authorization change.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorizationChanged(AuthorizationChangedEvent event) {
+        if (event.userId() != null) {
+            versions.invalidate(event.userId());
+        } else {
+            versions.invalidateAll();
+        }
+    }
+
+    /**
+    * A method to read the current version of a user from the database.
+    *
+    * @param userId The id of the user.
+    * @return The current version, or a version newer than any token if the user does not exist.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    protected int load(UUID userId) {
+        List<Integer> rows = jdbcTemplate.queryForList(SELECT_SQL, Integer.class, userId);
+        return rows.isEmpty() ? DELETED : rows.getFirst();
+    }
+
+}
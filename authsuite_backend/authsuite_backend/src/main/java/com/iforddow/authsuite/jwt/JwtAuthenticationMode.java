@@ -0,0 +1,20 @@
+package com.iforddow.authsuite.jwt;
+
+/**
+* The ways the JwtFilter can build the authentication for a bearer token.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public enum JwtAuthenticationMode {
+
+    // Build the authentication from the signed claims of the token, without a database round-trip.
+    // Verified tokens and authorization versions are cached, so a change made on another instance
+    // or directly in the database applies within auth.principal_cache.ttl_ms
+    STATELESS,
+
+    // Load the user from the database on every request, past the token and snapshot caches,
+    // so role changes and deletions apply to the next request
+    DATABASE
+
+}
@@ -0,0 +1,57 @@
+package com.iforddow.authsuite.jwt;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.security.Key;
+import java.time.Instant;
+
+/**
+* An immutable entry in the JWT key ring.
+* Each key is identified by a key id (kid) which is written to the
+* header of every token it signs, so the matching key can be selected
+* again when the token is verified.
+*
+* @param kid The key id written to the token header.
+* @param algorithm The signature algorithm used with this key.
+* @param signingKey The key used to sign new tokens, or null for a verify-only public key.
+* @param verificationKey The key used to verify token signatures.
+* @param retiredUntil The instant after which a retired key is no longer accepted, or null for the active key.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public record JwtKey(
+        String kid,
+        SignatureAlgorithm algorithm,
+        Key signingKey,
+        Key verificationKey,
+        Instant retiredUntil
+) {
+
+    /**
+    * A method to check if the key may still be used to verify tokens.
+    *
+    * @param now The current instant.
+    * @return true if the key is active or still inside its retirement window.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public boolean acceptsAt(Instant now) {
+        return retiredUntil == null || now.isBefore(retiredUntil);
+    }
+
+    /**
+    * A method to create a retired copy of this key.
+    *
+    * @param until The instant after which the key is no longer accepted.
+    * @return A copy of this key that only verifies tokens until the given instant.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public JwtKey retire(Instant until) {
+        return new JwtKey(kid, algorithm, signingKey, verificationKey, until);
+    }
+
+}
@@ -0,0 +1,301 @@
+package com.iforddow.authsuite.jwt;
+
+import io.jsonwebtoken.*;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+* A ring of keys used to sign and verify JWT tokens.
+* All keys are decoded once when the ring is created, and a single immutable
+* parser is built up front. The parser selects the verification key from the
+* kid header of each token, so tokens signed by a retired key keep validating
+* until they expire while new tokens are signed with the active key.
+* The active key is an HMAC secret (HS256) or a P-256 key pair (ES256); the public
+* halves of ES256 keys are published as a JWK set, so other services can verify
+* tokens without holding a shared secret.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Component
+public class JwtKeyRing {
+
+    // An immutable view of the keys, swapped atomically on rotation
+    private record State(JwtKey active, Map<String, JwtKey> keys) {}
+
+    // The current state of the ring
+    private volatile State state;
+
+    // The kid assumed for tokens issued before key ids were written to the header
+    private final String legacyKid;
+
+    // How long a retired key keeps verifying tokens after a rotation
+    private final Duration retirementWindow;
+
+    // The prebuilt, thread-safe parser shared by every verification
+    private final JwtParser parser;
+
+    /**
+    * A constructor for the JwtKeyRing class.
+    *
+    * @param algorithm The algorithm of the active signing key, HS256 or ES256.
+    * @param secret The secret of the active HMAC signing key.
+    * @param kid The key id of the active signing key.
+    * @param retiredKeys A comma separated list of kid:secret pairs that are only used for verification.
+    * @param ecPrivateKeyFile The PKCS#8 PEM file of the active ES256 key; a key pair is generated if empty.
+    * @param ecPublicKeyFile The X.509 PEM file of the public half of the active ES256 key.
+    * @param ecRetiredKeys A comma separated list of kid:public-key-file pairs that are only used for verification.
+    * @param accessExpirationMs The expiration time for access tokens in milliseconds.
+    * @param refreshExpirationMs The expiration time for refresh tokens in milliseconds.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public JwtKeyRing(@Value("${jwt.algorithm:HS256}") SignatureAlgorithm algorithm,
+                      @Value("${jwt.secret:}") String secret,
+                      @Value("${jwt.key_id:default}") String kid,
+                      @Value("${jwt.retired_keys:}") String retiredKeys,
+                      @Value("${jwt.ec.private_key_file:}") String ecPrivateKeyFile,
+                      @Value("${jwt.ec.public_key_file:}") String ecPublicKeyFile,
+                      @Value("${jwt.ec.retired_keys:}") String ecRetiredKeys,
+                      @Value("${jwt.access_expiration}") long accessExpirationMs,
+                      @Value("${jwt.refresh_expiration}") long refreshExpirationMs) {
+
+        this.legacyKid = kid;
+        this.retirementWindow = Duration.ofMillis(Math.max(accessExpirationMs, refreshExpirationMs));
+
+        JwtKey active = switch (algorithm) {
+            case HS256 -> hmacKey(kid, secret, null);
+            case ES256 -> ecKey(kid, ecPrivateKeyFile, ecPublicKeyFile);
+            default -> throw new IllegalArgumentException("Unsupported JWT algorithm: " + algorithm);
+        };
+
+        Map<String, JwtKey> keys = new LinkedHashMap<>();
+        keys.put(active.kid(), active);
+
+        // Keys retired through configuration are accepted until they are removed from it
+        addRetiredKeys(keys, retiredKeys, (retiredKid, retiredSecret) -> hmacKey(retiredKid, retiredSecret, Instant.MAX));
+        addRetiredKeys(keys, ecRetiredKeys, (retiredKid, publicKeyFile) -> {
+            ECPublicKey publicKey = PemKeys.readPublicKey(Path.of(publicKeyFile));
+            return new JwtKey(retiredKid, SignatureAlgorithm.ES256, null, publicKey, Instant.MAX);
+        });
+
+        this.state = new State(active, Map.copyOf(keys));
+
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    /**
+    * A method to get the key currently used to sign new tokens.
+    *
+    * @return The active JwtKey.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public JwtKey active() {
+        return state.active();
+    }
+
+    /**
+    * A method to get every key that is still accepted for verification.
+    *
+    * @return The keys in the ring, including retired keys.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public Collection<JwtKey> keys() {
+        return state.keys().values();
+    }
+
+    /**
+    * A method to get the shared parser for the ring.
+    * The parser is immutable and safe to use from any thread.
+    *
+    * @return The prebuilt JwtParser.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public JwtParser parser() {
+        return parser;
+    }
+
+    /**
+    * A method to rotate the active signing key without downtime.
+    * The previous active key is retired and keeps verifying tokens for
+    * the longest token lifetime, after which it is dropped from the ring.
+    *
+    * @param kid The key id of the new signing key.
+    * @param secret The secret of the new signing key.
+    *
+    * @throws IllegalArgumentException if the key id is already in use.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public synchronized void rotate(String kid, String secret) {
+        rotate(hmacKey(kid, secret, null));
+    }
+
+    /**
+    * A method to rotate the active signing key to an already decoded key.
+    *
+    * @param next The new signing key.
+    *
+    * @throws IllegalArgumentException if the key id is already in use.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public synchronized void rotate(JwtKey next) {
+        State current = state;
+        Instant now = Instant.now();
+
+        if (current.keys().containsKey(next.kid())) {
+            throw new IllegalArgumentException("Duplicate JWT key id: " + next.kid());
+        }
+
+        Map<String, JwtKey> keys = new LinkedHashMap<>();
+        keys.put(next.kid(), next);
+
+        for (JwtKey key : current.keys().values()) {
+            if (key == current.active()) {
+                keys.put(key.kid(), key.retire(now.plus(retirementWindow)));
+            } else if (key.acceptsAt(now)) {
+                keys.put(key.kid(), key);
+            }
+        }
+
+        state = new State(next, Map.copyOf(keys));
+    }
+
+    /**
+    * A method to resolve the key used to verify a token.
+    *
+    * @param kid The key id from the token header, or null for tokens issued before key ids were used.
+    * @return The verification key.
+    *
+    * @throws SignatureException if no accepted key matches the key id.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private Key verificationKey(String kid) {
+        JwtKey key = state.keys().get(kid != null ? kid : legacyKid);
+
+        if (key == null || !key.acceptsAt(Instant.now())) {
+            throw new SignatureException("Unknown or retired JWT key id: " + kid);
+        }
+
+        return key.verificationKey();
+    }
+
+    /**
+    * A method to add the verify-only keys of a configuration property to the ring.
+    *
+    * @param keys The keys of the ring.
+    * @param entries A comma separated list of kid:value pairs.
+    * @param decoder Decodes the key of a kid:value pair.
+    *
+    * @throws IllegalArgumentException if an entry is malformed or a key id is already in use.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private static void addRetiredKeys(Map<String, JwtKey> keys, String entries, BiFunction<String, String, JwtKey> decoder) {
+        for (String entry : entries.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+
+            int separator = entry.indexOf(':');
+
+            if (separator <= 0 || separator == entry.length() - 1) {
+                throw new IllegalArgumentException("Retired JWT keys must be configured as kid:key pairs");
+            }
+
+            String retiredKid = entry.substring(0, separator).trim();
+
+            if (keys.containsKey(retiredKid)) {
+                throw new IllegalArgumentException("Duplicate JWT key id: " + retiredKid);
+            }
+
+            keys.put(retiredKid, decoder.apply(retiredKid, entry.substring(separator + 1).trim()));
+        }
+    }
+
+    /**
+    * A method to load the active ES256 key pair.
+    * Without key files a key pair is generated, which is only suitable for a single
+    * instance: its tokens stop verifying when the instance restarts.
+    *
+    * @param kid The key id.
+    * @param privateKeyFile The PKCS#8 PEM file of the private key, may be empty.
+    * @param publicKeyFile The X.509 PEM file of the public key.
+    * @return The ES256 JwtKey.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private static JwtKey ecKey(String kid, String privateKeyFile, String publicKeyFile) {
+        if (privateKeyFile.isBlank()) {
+            System.out.println("No ES256 key files configured; generated a key pair that lasts until restart");
+            KeyPair pair = PemKeys.generateP256();
+            return new JwtKey(kid, SignatureAlgorithm.ES256, pair.getPrivate(), pair.getPublic(), null);
+        }
+
+        if (publicKeyFile.isBlank()) {
+            throw new IllegalArgumentException("jwt.ec.public_key_file is required with jwt.ec.private_key_file");
+        }
+
+        return new JwtKey(kid, SignatureAlgorithm.ES256,
+                PemKeys.readPrivateKey(Path.of(privateKeyFile)),
+                PemKeys.readPublicKey(Path.of(publicKeyFile)),
+                null);
+    }
+
+    /**
+    * A method to decode an HMAC key from a secret string.
+    *
+    * @param kid The key id.
+    * @param secret The secret string.
+    * @param retiredUntil The instant after which the key is no longer accepted, or null for an active key.
+    * @return The decoded JwtKey.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private static JwtKey hmacKey(String kid, String secret, Instant retiredUntil) {
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalArgumentException("jwt.secret is required for HMAC keys");
+        }
+
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return new JwtKey(kid, SignatureAlgorithm.forSigningKey(key), key, key, retiredUntil);
+    }
+
+}
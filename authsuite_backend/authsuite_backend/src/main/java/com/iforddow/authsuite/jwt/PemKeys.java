@@ -0,0 +1,126 @@
+package com.iforddow.authsuite.jwt;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+* Utility methods to read the elliptic curve keys used for ES256 signing.
+* Private keys are read from PKCS#8 PEM files ("BEGIN PRIVATE KEY") and public keys
+* from X.509 PEM files ("BEGIN PUBLIC KEY"), as written by
+* {@code openssl genpkey -algorithm EC -pkeyopt ec_paramgen_curve:P-256} and
+* {@code openssl pkey -pubout}.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public final class PemKeys {
+
+    // The size of a P-256 coordinate in bits
+    static final int P256_FIELD_SIZE = 256;
+
+    private PemKeys() {
+    }
+
+    /**
+    * A method to read a P-256 private key from a PKCS#8 PEM file.
+    *
+    * @param file The PEM file.
+    * @return The private key.
+    *
+    * @throws IllegalArgumentException if the file does not hold a P-256 private key.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static ECPrivateKey readPrivateKey(Path file) {
+        try {
+            ECPrivateKey key = (ECPrivateKey) KeyFactory.getInstance("EC")
+                    .generatePrivate(new PKCS8EncodedKeySpec(decode(file, "PRIVATE KEY")));
+            return requireP256(key.getParams().getCurve().getField().getFieldSize(), key);
+        } catch (GeneralSecurityException | ClassCastException e) {
+            throw new IllegalArgumentException("Not an EC private key: " + file, e);
+        }
+    }
+
+    /**
+    * A method to read a P-256 public key from an X.509 PEM file.
+    *
+    * @param file The PEM file.
+    * @return The public key.
+    *
+    * @throws IllegalArgumentException if the file does not hold a P-256 public key.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static ECPublicKey readPublicKey(Path file) {
+        try {
+            ECPublicKey key = (ECPublicKey) KeyFactory.getInstance("EC")
+                    .generatePublic(new X509EncodedKeySpec(decode(file, "PUBLIC KEY")));
+            return requireP256(key.getParams().getCurve().getField().getFieldSize(), key);
+        } catch (GeneralSecurityException | ClassCastException e) {
+            throw new IllegalArgumentException("Not an EC public key: " + file, e);
+        }
+    }
+
+    /**
+    * A method to generate a P-256 key pair, for deployments that configure no key files.
+    *
+    * @return The generated key pair.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static KeyPair generateP256() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("P-256 keys are not available", e);
+        }
+    }
+
+    private static <T> T requireP256(int fieldSize, T key) {
+        if (fieldSize != P256_FIELD_SIZE) {
+            throw new IllegalArgumentException("ES256 requires a P-256 key");
+        }
+        return key;
+    }
+
+    private static byte[] decode(Path file, String type) {
+        String pem;
+
+        try {
+            pem = Files.readString(file, StandardCharsets.US_ASCII);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read key file " + file, e);
+        }
+
+        String begin = "-----BEGIN " + type + "-----";
+        String end = "-----END " + type + "-----";
+
+        int start = pem.indexOf(begin);
+        int stop = pem.indexOf(end);
+
+        if (start < 0 || stop < start) {
+            throw new IllegalArgumentException("Expected a " + type + " PEM block in " + file);
+        }
+
+        return Base64.getMimeDecoder().decode(pem.substring(start + begin.length(), stop));
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.iforddow.authsuite.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+* The SHA-256 digest of a token, truncated to 128 bits.
+* It is used as the key of token caches, so raw tokens are never held in memory.
+*
+* @param high The first 64 bits of the digest.
+* @param low The next 64 bits of the digest.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public record TokenDigest(long high, long low) {
+
+    // A per-thread digest, since MessageDigest is not thread-safe
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    /**
+    * A method to compute the digest of a token.
+    *
+    * @param token The raw token.
+    * @return The truncated SHA-256 digest of the token.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static TokenDigest of(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+
+        long high = 0;
+        long low = 0;
+
+        for (int i = 0; i < 8; i++) {
+            high = (high << 8) | (hash[i] & 0xff);
+            low = (low << 8) | (hash[i + 8] & 0xff);
+        }
+
+        return new TokenDigest(high, low);
+    }
+
+}
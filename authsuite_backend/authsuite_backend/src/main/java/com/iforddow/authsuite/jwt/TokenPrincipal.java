@@ -0,0 +1,23 @@
+package com.iforddow.authsuite.jwt;
+
+import java.security.Principal;
+import java.util.UUID;
+
+/**
+* The principal of a request authenticated from the signed claims of a JWT token.
+*
+* @param id The id of the user.
+* @param email The email of the user.
+* @param authzVersion The authorization version of the user when the token was issued.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public record TokenPrincipal(UUID id, String email, int authzVersion) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.iforddow.authsuite.jwt;
+
+import com.iforddow.authsuite.cache.BoundedCache;
+import com.iforddow.authsuite.cache.RollingBloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+* The list of access tokens revoked before they expire.
+* Revoked token ids are recorded in the revoked_token table, which is authoritative,
+* and added to an in-memory rolling Bloom filter whose generations last one access
+* token lifetime. A token that is not in the filter is certainly not revoked, which
+* is the answer for nearly every request and costs a few word reads. Only filter hits
+* are confirmed against the table, and the answers are cached until the token expires.
+* Revocations made by other instances are picked up by polling the table.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Component
+public class TokenRevocationList {
+
+    // A row of the revoked_token table
+    private record Revocation(UUID tokenId, long revokedAtMs) {}
+
+    // How far back each poll looks again, covering revocations committed out of order
+    private static final long SYNC_OVERLAP_MS = 60_000;
+
+    // JdbcTemplate for the revoked_token table
+    private final JdbcTemplate jdbcTemplate;
+
+    // The revoked token ids of the last two token lifetimes
+    private final RollingBloomFilter filter;
+
+    // Confirmed answers for token ids that hit the filter
+    private final BoundedCache<UUID, Boolean> confirmed;
+
+    // The lifetime of an access token, and of a filter generation
+    private final long windowMs;
+
+    // When the filter next rolls over, in epoch milliseconds
+    private long nextRollOverMs;
+
+    // The latest revocation time seen by a poll, in epoch milliseconds
+    private long syncedUntilMs;
+
+    /**
+    * A constructor for the TokenRevocationList class.
+    *
+    * @param jdbcTemplate The JdbcTemplate for the revoked_token table.
+    * @param accessExpirationMs The lifetime of an access token in milliseconds.
+    * @param expectedRevocations The number of revocations expected per token lifetime.
+    * @param falsePositiveRate The share of live tokens allowed to need a confirmation lookup.
+    * @param confirmedCacheSize The maximum number of confirmed answers held at once.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public TokenRevocationList(JdbcTemplate jdbcTemplate,
+                               @Value("${jwt.access_expiration}") long accessExpirationMs,
+                               @Value("${jwt.revocation.expected_per_window:100000}") int expectedRevocations,
+                               @Value("${jwt.revocation.false_positive_rate:0.001}") double falsePositiveRate,
+                               @Value("${jwt.revocation.confirmed_cache_size:10000}") int confirmedCacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.filter = new RollingBloomFilter(expectedRevocations, falsePositiveRate);
+        this.confirmed = new BoundedCache<>(confirmedCacheSize);
+        this.windowMs = accessExpirationMs;
+        this.nextRollOverMs = System.currentTimeMillis() + accessExpirationMs;
+    }
+
+    /**
+    * A method to revoke a token until it expires.
+    *
+    * @param tokenId The jti of the token.
+    * @param expiresAt The expiration of the token.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public void revoke(UUID tokenId, Instant expiresAt) {
+        jdbcTemplate.update("INSERT INTO revoked_token (jti, expires_at) VALUES (?, ?) ON CONFLICT DO NOTHING",
+                tokenId, Timestamp.from(expiresAt));
+
+        filter.add(tokenId.getMostSignificantBits(), tokenId.getLeastSignificantBits());
+        confirmed.put(tokenId, Boolean.TRUE, expiresAt.toEpochMilli());
+    }
+
+    /**
+    * A method to check if a token has been revoked.
+    *
+    * @param tokenId The jti of the token, or null for tokens issued without one.
+    * @return true if the token has been revoked.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public boolean isRevoked(UUID tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId.getMostSignificantBits(), tokenId.getLeastSignificantBits())) {
+            return false;
+        }
+
+        Boolean revoked = confirmed.get(tokenId);
+
+        if (revoked == null) {
+            revoked = !jdbcTemplate.queryForList("SELECT 1 FROM revoked_token WHERE jti = ?", Integer.class, tokenId).isEmpty();
+            confirmed.put(tokenId, revoked, System.currentTimeMillis() + windowMs);
+        }
+
+        return revoked;
+    }
+
+    /**
+    * A method to pick up revocations made by other instances, and to roll the filter
+    * over once per token lifetime. The first run at startup loads every revocation
+    * that has not expired yet.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync_ms:5000}")
+    public synchronized void sync() {
+        long now = System.currentTimeMillis();
+
+        if (now >= nextRollOverMs) {
+            filter.rollOver();
+            nextRollOverMs = now + windowMs;
+
+            jdbcTemplate.update("DELETE FROM revoked_token WHERE expires_at < now()");
+        }
+
+        List<Revocation> revocations = jdbcTemplate.query(
+                "SELECT jti, revoked_at FROM revoked_token WHERE revoked_at > ? AND expires_at > now()",
+                (rs, rowNum) -> new Revocation(rs.getObject("jti", UUID.class), rs.getTimestamp("revoked_at").getTime()),
+                new Timestamp(Math.max(0, syncedUntilMs - SYNC_OVERLAP_MS)));
+
+        for (Revocation revocation : revocations) {
+            UUID tokenId = revocation.tokenId();
+
+            filter.add(tokenId.getMostSignificantBits(), tokenId.getLeastSignificantBits());
+
+            // A false positive answered before the revocation must be looked up again
+            confirmed.invalidate(tokenId);
+
+            syncedUntilMs = Math.max(syncedUntilMs, revocation.revokedAtMs());
+        }
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.iforddow.authsuite.jwt;
+
+import com.iforddow.authsuite.cache.BoundedCache;
+import com.iforddow.authsuite.cache.CacheStats;
+import com.iforddow.authsuite.event.AuthorizationChangedEvent;
+import com.iforddow.authsuite.impl.UserPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+* A bounded cache of bearer tokens that have already been verified.
+* Entries are keyed by a SHA-256 digest of the token, so raw tokens are never
+* held in memory, and each entry lives until the token expires or the authorization
+* staleness window passes, whichever comes first. A repeated token skips signature
+* verification, claims decoding and the user lookup, but is still checked against
+* the revocation list, so a token revoked after it was cached stops working at once.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Component
+public class VerifiedTokenCache {
+
+    // The principal resolved for a token, with everything needed to rebuild its authentication
+    private record ResolvedToken(UUID userId, UUID tokenId, Object principal, List<GrantedAuthority> authorities) {}
+
+    // Whether verified tokens are cached at all
+    private final boolean enabled;
+
+    // The cached tokens
+    private final BoundedCache<TokenDigest, ResolvedToken> cache;
+
+    // The longest time a resolved token is served, so authorization changes made elsewhere are picked up
+    private final long maxTtlMs;
+
+    // The list of tokens revoked before they expire
+    private final TokenRevocationList revocationList;
+
+    /**
+    * A constructor for the VerifiedTokenCache class.
+    *
+    * @param enabled Whether verified tokens are cached.
+    * @param maxSize The maximum number of tokens held at once.
+    * @param maxTtlMs The longest time a resolved token is served before it is verified again.
+    * @param revocationList The list of tokens revoked before they expire.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public VerifiedTokenCache(@Value("${jwt.token_cache.enabled:true}") boolean enabled,
+                              @Value("${jwt.token_cache.max_size:100000}") int maxSize,
+                              @Value("${jwt.token_cache.max_ttl_ms:${auth.principal_cache.ttl_ms:60000}}") long maxTtlMs,
+                              TokenRevocationList revocationList) {
+        this.enabled = enabled;
+        this.cache = new BoundedCache<>(maxSize);
+        this.maxTtlMs = maxTtlMs;
+        this.revocationList = revocationList;
+    }
+
+    /**
+    * A method to get the authentication of a token that was already verified.
+    *
+    * @param token The raw bearer token.
+    * @return A new authentication for the token, or null if the token is not cached or has been revoked.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public UsernamePasswordAuthenticationToken get(String token) {
+        if (!enabled) {
+            return null;
+        }
+
+        TokenDigest digest = TokenDigest.of(token);
+        ResolvedToken resolved = cache.get(digest);
+
+        if (resolved == null) {
+            return null;
+        }
+
+        if (revocationList.isRevoked(resolved.tokenId())) {
+            cache.invalidate(digest);
+            return null;
+        }
+
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                resolved.principal(), null, resolved.authorities());
+
+        authToken.setDetails(resolved.principal());
+        return authToken;
+    }
+
+    /**
+    * A method to cache the authentication of a verified token until the token expires.
+    *
+    * @param token The raw bearer token.
+    * @param authentication The authentication built for the token.
+    * @param expiresAtMs The expiration of the token in epoch milliseconds.
+    * @param tokenId The jti of the token, or null for tokens issued without one.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public void put(String token, UsernamePasswordAuthenticationToken authentication, long expiresAtMs, UUID tokenId) {
+        if (!enabled) {
+            return;
+        }
+
+        Object principal = authentication.getPrincipal();
+        Collection<GrantedAuthority> authorities = authentication.getAuthorities();
+
+        UUID userId = switch (principal) {
+            case TokenPrincipal tokenPrincipal -> tokenPrincipal.id();
+            case UserPrincipal userPrincipal -> userPrincipal.id();
+            default -> null;
+        };
+
+        cache.put(TokenDigest.of(token),
+                new ResolvedToken(userId, tokenId, principal, List.copyOf(authorities)),
+                Math.min(expiresAtMs, System.currentTimeMillis() + maxTtlMs));
+    }
+
+    /**
+    * A method to drop every cached token of a user, for example after their roles change.
+    *
+    * @param userId The id of the user.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public void invalidateUser(UUID userId) {
+        cache.invalidateIf(resolved -> userId.equals(resolved.userId()));
+    }
+
+    /**
+    * A method to drop every cached token, for example after a role's permissions change.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+    * A method to drop cached tokens affected by an authorization change.
+    * Tokens do not record their roles, so a role change drops every cached token.
+    *
+    * @param event The authorization change.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorizationChanged(AuthorizationChangedEvent event) {
+        if (event.userId() != null) {
+            invalidateUser(event.userId());
+        } else {
+            invalidateAll();
+        }
+    }
+
+    /**
+    * A method to get the hit, miss and eviction counters of the cache.
+    *
+    * @return The cache statistics.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.iforddow.authsuite.password;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+import java.util.Arrays;
+
+/**
+* A utility that benchmarks Argon2 on the current host and picks the cost
+* that keeps password verification close to a target latency.
+* The memory cost is fixed, and the number of iterations is raised for as long
+* as the p99 verify time stays within the target. The result is never weaker
+* than the configured baseline, so slow hosts keep the minimum cost.
+* The result is advisory: applying it per host would make hosts disagree on the cost.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public class Argon2Calibrator {
+
+    // Argon2 parameters shared by every calibrated encoder
+    private static final int SALT_LENGTH = 16;
+    private static final int HASH_LENGTH = 32;
+    private static final int PARALLELISM = 1;
+
+    // The number of verifications timed for each candidate cost
+    private static final int SAMPLES = 10;
+
+    // The highest number of iterations that is ever tried
+    private static final int MAX_ITERATIONS = 16;
+
+    /**
+    * The Argon2 cost chosen by the calibration.
+    *
+    * @param memoryKb The memory cost in kilobytes.
+    * @param iterations The number of iterations.
+    * @param p99Ms The measured p99 verify latency in milliseconds.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public record Result(int memoryKb, int iterations, double p99Ms) {}
+
+    /**
+    * A method to create an Argon2 encoder with the shared parameters.
+    *
+    * @param memoryKb The memory cost in kilobytes.
+    * @param iterations The number of iterations.
+    * @return The Argon2 encoder.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static Argon2PasswordEncoder encoder(int memoryKb, int iterations) {
+        return new Argon2PasswordEncoder(SALT_LENGTH, HASH_LENGTH, PARALLELISM, memoryKb, iterations);
+    }
+
+    /**
+    * A method to calibrate the number of Argon2 iterations for a target verify latency.
+    *
+    * @param memoryKb The memory cost in kilobytes.
+    * @param minIterations The lowest number of iterations that may be chosen.
+    * @param targetMs The target p99 verify latency in milliseconds.
+    * @return The chosen cost and its measured latency.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static Result calibrate(int memoryKb, int minIterations, double targetMs) {
+
+        Result chosen = new Result(memoryKb, minIterations, measureP99(memoryKb, minIterations));
+
+        for (int iterations = minIterations + 1; iterations <= MAX_ITERATIONS && chosen.p99Ms() < targetMs; iterations++) {
+
+            double p99 = measureP99(memoryKb, iterations);
+
+            if (p99 > targetMs) {
+                break;
+            }
+
+            chosen = new Result(memoryKb, iterations, p99);
+        }
+
+        return chosen;
+    }
+
+    /**
+    * A method to measure the p99 verify latency of a cost.
+    *
+    * @param memoryKb The memory cost in kilobytes.
+    * @param iterations The number of iterations.
+    * @return The p99 latency in milliseconds.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private static double measureP99(int memoryKb, int iterations) {
+
+        Argon2PasswordEncoder encoder = encoder(memoryKb, iterations);
+        String encoded = encoder.encode("calibration-password");
+
+        // Warm up once so class loading and JIT are not measured
+        encoder.matches("calibration-password", encoded);
+
+        long[] samples = new long[SAMPLES];
+
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.matches("calibration-password", encoded);
+            samples[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(samples);
+
+        int index = (int) Math.ceil(SAMPLES * 0.99) - 1;
+        return samples[index] / 1_000_000.0;
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.iforddow.authsuite.password;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+* A PasswordEncoder that runs every encode and match on the PasswordHashingExecutor.
+* Checking whether a hash needs an upgrade is cheap and runs on the caller's thread.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    // The encoder doing the actual hashing
+    private final PasswordEncoder delegate;
+
+    // The engine bounding concurrent hashing
+    private final PasswordHashingExecutor executor;
+
+    /**
+    * A constructor for the BoundedPasswordEncoder class.
+    *
+    * @param delegate The encoder doing the actual hashing.
+    * @param executor The engine bounding concurrent hashing.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executor.execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executor.execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+    * A method to get the underlying encoder, for batch work that schedules its own hashing
+    * and must not compete with logins for the bounded executor.
+    *
+    * @return The encoder doing the actual hashing.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public PasswordEncoder unbounded() {
+        return delegate;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+}
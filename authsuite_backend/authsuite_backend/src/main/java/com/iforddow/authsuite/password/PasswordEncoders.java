@@ -0,0 +1,83 @@
+package com.iforddow.authsuite.password;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.password.StandardPasswordEncoder;
+import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+* The password storage formats understood by the application.
+* Stored hashes use the DelegatingPasswordEncoder format, {id}hash, where the id
+* names one of the encoders below. Only the default id is used for new passwords,
+* the others are kept so existing and imported hashes can still be verified.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public final class PasswordEncoders {
+
+    // The encoding id used for new passwords
+    public static final String DEFAULT_ID = "argon2@SpringSecurity_v5_8";
+
+    // Every encoding id a stored hash may use
+    private static final Set<String> IDS = Set.of(
+            "bcrypt", "noop", "pbkdf2", "pbkdf2@SpringSecurity_v5_8", "scrypt",
+            "scrypt@SpringSecurity_v5_8", "argon2", "sha256", DEFAULT_ID);
+
+    private PasswordEncoders() {}
+
+    /**
+    * A method to build the encoders for every supported id.
+    *
+    * @param defaultEncoder The encoder used for new passwords.
+    * @return The encoders keyed by encoding id.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @SuppressWarnings("deprecation")
+    public static Map<String, PasswordEncoder> byId(PasswordEncoder defaultEncoder) {
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+
+        encoders.put("bcrypt", new BCryptPasswordEncoder()); // used only for legacy support
+        encoders.put("noop", NoOpPasswordEncoder.getInstance()); // used only for legacy support
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_5()); // used only for legacy support
+        encoders.put("pbkdf2@SpringSecurity_v5_8", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8()); // used only for legacy support
+        encoders.put("scrypt", SCryptPasswordEncoder.defaultsForSpringSecurity_v4_1()); // used only for legacy support
+        encoders.put("scrypt@SpringSecurity_v5_8", SCryptPasswordEncoder.defaultsForSpringSecurity_v5_8()); // used only for legacy support
+        encoders.put("argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_2()); // used only for legacy support
+        encoders.put("sha256", new StandardPasswordEncoder()); // used only for legacy support
+        encoders.put(DEFAULT_ID, defaultEncoder);
+
+        return encoders;
+    }
+
+    /**
+    * A method to check if a value is already an encoded password in a supported format.
+    *
+    * @param value The value to check.
+    * @return true if the value is {id}hash with a known id and a non-empty hash.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static boolean isEncoded(String value) {
+
+        if (value == null || !value.startsWith("{")) {
+            return false;
+        }
+
+        int end = value.indexOf('}');
+
+        return end > 1 && end < value.length() - 1 && IDS.contains(value.substring(1, end));
+    }
+
+}
@@ -0,0 +1,183 @@
+package com.iforddow.authsuite.password;
+
+import com.iforddow.authsuite.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+* A dedicated engine for password hashing work.
+* Hashes run on a fixed pool of threads, sized so that the memory used by
+* concurrent hashes stays under a cap, behind a bounded queue. Every task has a
+* deadline: a task that cannot be queued, or that is still waiting when its
+* deadline passes, fails fast with a ServiceUnavailableException (503 with
+* Retry-After), so a credential spike cannot take over the request threads,
+* the CPU or the heap needed by ordinary token-validated traffic.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Component
+public class PasswordHashingExecutor {
+
+    // The pool running the hashes
+    private final ThreadPoolExecutor executor;
+
+    // The number of hashes allowed to run at once
+    private final int concurrency;
+
+    // How long a caller waits for a hash, queueing included
+    private final long deadlineMs;
+
+    // Moving average of the time taken by one hash, used to estimate Retry-After
+    private final AtomicLong averageHashNanos = new AtomicLong(TimeUnit.MILLISECONDS.toNanos(50));
+
+    /**
+    * A constructor for the PasswordHashingExecutor class.
+    *
+    * @param maxThreads The maximum number of hashing threads, or 0 for the number of cores.
+    * @param maxMemoryMb The memory budget for concurrent hashes in megabytes.
+    * @param memoryPerHashKb The memory used by a single hash in kilobytes.
+    * @param queueCapacity The maximum number of hashes waiting for a thread.
+    * @param deadlineMs How long a caller waits for a hash, queueing included.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public PasswordHashingExecutor(@Value("${password.hashing.max_threads:0}") int maxThreads,
+                                   @Value("${password.hashing.max_memory_mb:256}") int maxMemoryMb,
+                                   @Value("${password.hashing.memory_per_hash_kb:${password.argon2.memory_kb:16384}}") int memoryPerHashKb,
+                                   @Value("${password.hashing.queue_capacity:64}") int queueCapacity,
+                                   @Value("${password.hashing.deadline_ms:2000}") long deadlineMs) {
+
+        int threads = maxThreads > 0 ? maxThreads : Runtime.getRuntime().availableProcessors();
+        int memoryBound = Math.max(1, (int) ((long) maxMemoryMb * 1024 / Math.max(1, memoryPerHashKb)));
+
+        this.concurrency = Math.min(threads, memoryBound);
+        this.deadlineMs = deadlineMs;
+
+        AtomicInteger threadCount = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(
+                concurrency, concurrency,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+    * A method to run a hashing task within the concurrency, queue and deadline limits.
+    *
+    * @param task The hashing work, such as an encode or a match.
+    * @return The result of the task.
+    *
+    * @throws ServiceUnavailableException if the queue is full or the deadline passes.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public <T> T execute(Supplier<T> task) {
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+
+        Future<T> future;
+
+        try {
+            future = executor.submit(() -> {
+                // Skip work nobody is waiting for any more
+                if (System.nanoTime() > deadline) {
+                    throw new CancellationException("Password hashing deadline passed while queued");
+                }
+
+                long start = System.nanoTime();
+                T result = task.get();
+                recordDuration(System.nanoTime() - start);
+                return result;
+            });
+        } catch (RejectedExecutionException e) {
+            throw overloaded();
+        }
+
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | CancellationException e) {
+            future.cancel(true);
+            throw overloaded();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw overloaded();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CancellationException) {
+                throw overloaded();
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /**
+    * A method to get the number of hashes allowed to run at once.
+    *
+    * @return The hashing concurrency.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+    * A method to stop the hashing threads when the application shuts down.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+    * A method to fold the duration of a hash into the moving average.
+    *
+    * @param nanos The duration of the hash in nanoseconds.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private void recordDuration(long nanos) {
+        averageHashNanos.updateAndGet(average -> average + (nanos - average) / 8);
+    }
+
+    /**
+    * A method to build the exception returned when the engine is saturated.
+    * Retry-After is the time needed to drain the current backlog.
+    *
+    * @return The exception to throw.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private ServiceUnavailableException overloaded() {
+        long backlog = executor.getQueue().size() + executor.getActiveCount();
+        long drainNanos = averageHashNanos.get() * backlog / concurrency;
+
+        return new ServiceUnavailableException("Too many concurrent authentication requests, please retry",
+                TimeUnit.NANOSECONDS.toSeconds(drainNanos) + 1);
+    }
+
+}
@@ -0,0 +1,184 @@
+package com.iforddow.authsuite.ratelimit;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+* A count-min sketch over a sliding time window, in fixed memory whatever the
+* number of keys. The window is split into slices with one sketch each, and the
+* count of a key is the sum over the slices still inside the window, so counts
+* decay one slice at a time. Slices that fall out of the window are cleared lazily
+* by the first update or query that notices the clock has moved on.
+* Counts never underestimate. Updates are conservative within the current slice,
+* raising only the rows whose counter in that slice is at the minimum, which keeps
+* the overestimate caused by colliding keys small. Every slice thus bounds the
+* count of the key in that slice on its own, so the bound holds as slices expire.
+* Updates and queries do not lock; a race can lose a single count.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public class CountMinSketch {
+
+    // The number of rows, each hashing a key to a different counter
+    private static final int DEPTH = 4;
+
+    // The counters of every slice, row and column; slice-major
+    private final AtomicIntegerArray counters;
+
+    // The number of columns minus one; the number of columns is a power of two
+    private final int columnMask;
+
+    // The number of slices the window is split into
+    private final int slices;
+
+    // The length of a slice in milliseconds
+    private final long sliceMs;
+
+    // The newest slice number cleared so far
+    private final AtomicLong currentSlice = new AtomicLong();
+
+    /**
+    * A constructor for the CountMinSketch class.
+    *
+    * @param width The number of counters per row, rounded up to a power of two.
+    * @param windowMs The length of the window in milliseconds.
+    * @param slices The number of slices the window is split into.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public CountMinSketch(int width, long windowMs, int slices) {
+        if (slices < 1 || windowMs < slices) {
+            throw new IllegalArgumentException("The window must have at least one millisecond per slice");
+        }
+
+        int columns = Integer.highestOneBit(Math.max(1, width - 1)) << 1;
+
+        this.counters = new AtomicIntegerArray(slices * DEPTH * columns);
+        this.columnMask = columns - 1;
+        this.slices = slices;
+        this.sliceMs = windowMs / slices;
+    }
+
+    /**
+    * A method to count one occurrence of a key.
+    *
+    * @param keyHash The hash of the key.
+    * @param nowMs The current time in milliseconds.
+    * @return The count of the key within the window, including this occurrence.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public int add(long keyHash, long nowMs) {
+        long slice = advance(nowMs);
+        int base = (int) (slice % slices) * DEPTH * (columnMask + 1);
+
+        int[] indexes = new int[DEPTH];
+        int[] counts = new int[DEPTH];
+        int min = Integer.MAX_VALUE;
+
+        for (int row = 0; row < DEPTH; row++) {
+            indexes[row] = base + row * (columnMask + 1) + column(keyHash, row);
+            counts[row] = counters.get(indexes[row]);
+            min = Math.min(min, counts[row]);
+        }
+
+        // Conservative update within the slice: rows above its minimum overcount because of other keys.
+        // Comparing sums over the whole window instead would let a skipped row fall below the true
+        // count once an older slice holding the colliding keys expires.
+        for (int row = 0; row < DEPTH; row++) {
+            if (counts[row] == min) {
+                counters.incrementAndGet(indexes[row]);
+            }
+        }
+
+        return estimate(keyHash, nowMs);
+    }
+
+    /**
+    * A method to estimate the count of a key within the window.
+    *
+    * @param keyHash The hash of the key.
+    * @param nowMs The current time in milliseconds.
+    * @return The count of the key, never less than the true count.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public int estimate(long keyHash, long nowMs) {
+        advance(nowMs);
+
+        int min = Integer.MAX_VALUE;
+
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, sum(row, column(keyHash, row)));
+        }
+
+        return min;
+    }
+
+    /**
+    * A method to get the length of a slice, the soonest any count can decay.
+    *
+    * @return The length of a slice in milliseconds.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public long sliceMs() {
+        return sliceMs;
+    }
+
+    /**
+    * A method to clear the slices that fell out of the window since the last call.
+    *
+    * @param nowMs The current time in milliseconds.
+    * @return The number of the current slice.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private long advance(long nowMs) {
+        long slice = nowMs / sliceMs;
+        long cleared = currentSlice.get();
+
+        while (slice > cleared) {
+            if (currentSlice.compareAndSet(cleared, slice)) {
+                int sliceSize = DEPTH * (columnMask + 1);
+
+                // A slice is reused for a newer part of the window, so it starts empty
+                for (long expired = Math.max(cleared + 1, slice - slices + 1); expired <= slice; expired++) {
+                    int base = (int) (expired % slices) * sliceSize;
+
+                    for (int i = 0; i < sliceSize; i++) {
+                        counters.set(base + i, 0);
+                    }
+                }
+                break;
+            }
+            cleared = currentSlice.get();
+        }
+
+        return slice;
+    }
+
+    private int sum(int row, int column) {
+        int sum = 0;
+        int offset = row * (columnMask + 1) + column;
+
+        for (int slice = 0; slice < slices; slice++) {
+            sum += counters.get(slice * DEPTH * (columnMask + 1) + offset);
+        }
+
+        return sum;
+    }
+
+    private int column(long keyHash, int row) {
+        // Each row remixes the hash with its own offset, so keys colliding in one row rarely collide in all
+        long hash = (keyHash + row * 0x9E3779B97F4A7C15L) * 0xBF58476D1CE4E5B9L;
+        return (int) ((hash ^ (hash >>> 31)) & columnMask);
+    }
+
+}
@@ -0,0 +1,210 @@
+package com.iforddow.authsuite.ratelimit;
+
+import com.iforddow.authsuite.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+* The tracker of failed logins per account and per client address.
+* Failures are counted over a sliding window in a count-min sketch per source, so
+* memory stays fixed even when an attack spreads over millions of accounts.
+* Past a first threshold each further failure is answered more slowly, doubling up
+* to a maximum; past a second threshold the account or address is locked out
+* until its count decays. Counts can only overestimate, so a key sharing counters
+* with an attacked one may be slowed down early, never late.
+* A successful login does not clear earlier failures; they decay with the window.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Component
+public class FailedLoginTracker {
+
+    /**
+    * The sources failures are counted against.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public enum Source {
+
+        // The account name the login was attempted for
+        ACCOUNT,
+
+        // The client address the login came from
+        ADDRESS
+
+    }
+
+    // The counters of a source, and when they escalate
+    private record Counter(CountMinSketch sketch, HeavyHitters offenders, int delayAfter, int lockoutAfter) {}
+
+    // The delay of the first failure past the delay threshold, in milliseconds
+    private static final long BASE_DELAY_MS = 250;
+
+    // Whether failures are tracked at all
+    private final boolean enabled;
+
+    // The longest delay added to a failed login, in milliseconds
+    private final long maxDelayMs;
+
+    // The counters of each source
+    private final Map<Source, Counter> counters = new EnumMap<>(Source.class);
+
+    /**
+    * A constructor for the FailedLoginTracker class.
+    *
+    * @param enabled Whether failures are tracked.
+    * @param windowSeconds The length of the sliding window, in seconds.
+    * @param slices The number of slices the window decays in.
+    * @param width The number of counters per sketch row.
+    * @param top The number of top offenders remembered per source.
+    * @param maxDelayMs The longest delay added to a failed login, in milliseconds.
+    * @param accountDelayAfter The failures of an account after which logins are slowed down.
+    * @param accountLockoutAfter The failures of an account after which it is locked out.
+    * @param addressDelayAfter The failures of a client address after which logins are slowed down.
+    * @param addressLockoutAfter The failures of a client address after which it is locked out.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public FailedLoginTracker(@Value("${login.failures.enabled:true}") boolean enabled,
+                              @Value("${login.failures.window_s:900}") long windowSeconds,
+                              @Value("${login.failures.slices:15}") int slices,
+                              @Value("${login.failures.sketch_width:8192}") int width,
+                              @Value("${login.failures.top:50}") int top,
+                              @Value("${login.failures.max_delay_ms:2000}") long maxDelayMs,
+                              @Value("${login.failures.account.delay_after:3}") int accountDelayAfter,
+                              @Value("${login.failures.account.lockout_after:20}") int accountLockoutAfter,
+                              @Value("${login.failures.address.delay_after:10}") int addressDelayAfter,
+                              @Value("${login.failures.address.lockout_after:100}") int addressLockoutAfter) {
+        this.enabled = enabled;
+        this.maxDelayMs = maxDelayMs;
+
+        counters.put(Source.ACCOUNT, new Counter(new CountMinSketch(width, windowSeconds * 1000, slices),
+                new HeavyHitters(top), accountDelayAfter, accountLockoutAfter));
+        counters.put(Source.ADDRESS, new Counter(new CountMinSketch(width, windowSeconds * 1000, slices),
+                new HeavyHitters(top), addressDelayAfter, addressLockoutAfter));
+    }
+
+    /**
+    * A method to refuse a login attempt for a locked out account or client address.
+    *
+    * @param account The account name of the attempt, may be null.
+    * @param address The client address of the attempt, may be null.
+    *
+    * @throws TooManyRequestsException if the account or address has failed too often.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public void checkLocked(String account, String address) {
+        if (!enabled) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+
+        checkLocked(counters.get(Source.ACCOUNT), normalize(account), now);
+        checkLocked(counters.get(Source.ADDRESS), address, now);
+    }
+
+    /**
+    * A method to count a failed login, then hold the request for the delay its counts have earned.
+    *
+    * @param account The account name of the attempt, may be null.
+    * @param address The client address of the attempt, may be null.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public void recordFailure(String account, String address) {
+        if (!enabled) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+
+        long delayMs = Math.max(
+                record(counters.get(Source.ACCOUNT), normalize(account), now),
+                record(counters.get(Source.ADDRESS), address, now));
+
+        if (delayMs <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+    * A method to list the keys of a source with the most failures in the window.
+    *
+    * @param source The source.
+    * @return The keys and their failure counts, highest first.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public List<HeavyHitters.Entry> getTopOffenders(Source source) {
+        Counter counter = counters.get(source);
+        long now = System.currentTimeMillis();
+
+        return counter.offenders().snapshot(key -> counter.sketch().estimate(TokenBucketTable.hash(key), now));
+    }
+
+    /**
+    * A method to compute the delay earned by a number of failures.
+    *
+    * @param failures The failures in the window, including the current one.
+    * @param delayAfter The failures after which logins are slowed down.
+    * @return The delay in milliseconds.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    long delayFor(int failures, int delayAfter) {
+        int excess = failures - delayAfter;
+
+        if (excess <= 0) {
+            return 0;
+        }
+
+        return Math.min(maxDelayMs, BASE_DELAY_MS << Math.min(excess - 1, 20));
+    }
+
+    private void checkLocked(Counter counter, String key, long now) {
+        if (key == null || key.isEmpty()) {
+            return;
+        }
+
+        if (counter.sketch().estimate(TokenBucketTable.hash(key), now) >= counter.lockoutAfter()) {
+            throw new TooManyRequestsException("Too many failed logins, try again later",
+                    (counter.sketch().sliceMs() + 999) / 1000);
+        }
+    }
+
+    private long record(Counter counter, String key, long now) {
+        if (key == null || key.isEmpty()) {
+            return 0;
+        }
+
+        int failures = counter.sketch().add(TokenBucketTable.hash(key), now);
+        counter.offenders().offer(key, failures);
+
+        return delayFor(failures, counter.delayAfter());
+    }
+
+    private static String normalize(String account) {
+        return account != null ? account.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.iforddow.authsuite.ratelimit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+* The keys with the highest counts seen by a count-min sketch, at most a fixed number.
+* A sketch cannot list its keys, so the keys are remembered here as they are counted:
+* a key replaces the lowest entry once its count is higher. The counts stored are the
+* counts when each key was last offered; a snapshot asks the sketch again, so keys
+* whose counts have decayed drop out.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public class HeavyHitters {
+
+    /**
+    * A key and its count.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public record Entry(String key, int count) {}
+
+    // The largest number of keys remembered
+    private final int capacity;
+
+    // The remembered keys and their last offered counts
+    private final Map<String, Integer> counts = new HashMap<>();
+
+    /**
+    * A constructor for the HeavyHitters class.
+    *
+    * @param capacity The largest number of keys remembered.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public HeavyHitters(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+    * A method to offer a key with its current count.
+    *
+    * @param key The key.
+    * @param count The current count of the key.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public synchronized void offer(String key, int count) {
+        if (capacity <= 0) {
+            return;
+        }
+
+        if (counts.containsKey(key) || counts.size() < capacity) {
+            counts.put(key, count);
+            return;
+        }
+
+        String lowestKey = null;
+        int lowest = Integer.MAX_VALUE;
+
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            if (entry.getValue() < lowest) {
+                lowest = entry.getValue();
+                lowestKey = entry.getKey();
+            }
+        }
+
+        if (count > lowest) {
+            counts.remove(lowestKey);
+            counts.put(key, count);
+        }
+    }
+
+    /**
+    * A method to list the remembered keys with their current counts, highest first.
+    * Keys whose count has decayed to zero are forgotten.
+    *
+    * @param currentCount The current count of a key.
+    * @return The keys and their counts.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public synchronized List<Entry> snapshot(ToIntFunction<String> currentCount) {
+        List<Entry> entries = new ArrayList<>(counts.size());
+
+        counts.entrySet().removeIf(entry -> {
+            int count = currentCount.applyAsInt(entry.getKey());
+            entry.setValue(count);
+
+            if (count > 0) {
+                entries.add(new Entry(entry.getKey(), count));
+            }
+            return count == 0;
+        });
+
+        entries.sort((a, b) -> Integer.compare(b.count(), a.count()));
+        return entries;
+    }
+
+}
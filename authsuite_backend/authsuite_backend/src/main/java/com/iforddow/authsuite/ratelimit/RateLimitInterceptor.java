@@ -0,0 +1,62 @@
+package com.iforddow.authsuite.ratelimit;
+
+import com.iforddow.authsuite.exception.TooManyRequestsException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+* An interceptor that limits the requests of each client address to an endpoint.
+* It runs before the request body is read, so a throttled client costs no
+* password hashing and no database lookup. The client address is the remote
+* address of the request; behind a proxy, enable forwarded headers so it is the
+* address of the client rather than of the proxy.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    // The rate limiter the requests are counted against
+    private final RateLimiter rateLimiter;
+
+    // The limit of the endpoint
+    private final RateLimiter.Limit limit;
+
+    /**
+    * A constructor for the RateLimitInterceptor class.
+    *
+    * @param rateLimiter The rate limiter the requests are counted against.
+    * @param limit The limit of the endpoint.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public RateLimitInterceptor(RateLimiter rateLimiter, RateLimiter.Limit limit) {
+        this.rateLimiter = rateLimiter;
+        this.limit = limit;
+    }
+
+    /**
+    * A method to count the request against the limit of its client address.
+    *
+    * @param request The HTTP request.
+    * @param response The HTTP response.
+    * @param handler The handler of the request.
+    * @return true to continue handling the request.
+    *
+    * @throws TooManyRequestsException if the client address has no requests left.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        if (!"OPTIONS".equals(request.getMethod())) {
+            rateLimiter.check(limit, request.getRemoteAddr());
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.iforddow.authsuite.ratelimit;
+
+/**
+* The token bucket of a rate limit.
+* A key may make a burst of up to capacity requests, after which it gets
+* refillPerMinute requests per minute, spread evenly.
+*
+* @param capacity The largest number of requests a key can make at once.
+* @param refillPerMinute The number of requests a key regains per minute.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public record RateLimitPolicy(int capacity, int refillPerMinute) {
+
+    public RateLimitPolicy {
+        if (capacity <= 0 || refillPerMinute <= 0) {
+            throw new IllegalArgumentException("Rate limit capacity and refill must be positive");
+        }
+    }
+
+    /**
+    * A method to read a policy from its configuration.
+    *
+    * @param value The policy as capacity:refillPerMinute, for example 10:5.
+    * @return The policy.
+    *
+    * @throws IllegalArgumentException if the value is malformed.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static RateLimitPolicy parse(String value) {
+        int separator = value.indexOf(':');
+
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Rate limits must be configured as capacity:refillPerMinute, got " + value);
+        }
+
+        return new RateLimitPolicy(
+                Integer.parseInt(value.substring(0, separator).trim()),
+                Integer.parseInt(value.substring(separator + 1).trim()));
+    }
+
+}
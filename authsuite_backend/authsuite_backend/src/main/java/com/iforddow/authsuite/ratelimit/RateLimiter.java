@@ -0,0 +1,93 @@
+package com.iforddow.authsuite.ratelimit;
+
+import com.iforddow.authsuite.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+* The in-process rate limiter for the credential endpoints.
+* Each limit has its own table of token buckets, configured with its own policy,
+* so a client address and an account are limited independently.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Component
+public class RateLimiter {
+
+    /**
+    * The limits enforced by the rate limiter.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public enum Limit {
+
+        // Login attempts per client address
+        LOGIN_IP,
+
+        // Login attempts per account, whichever address they come from
+        LOGIN_ACCOUNT,
+
+        // Registrations per client address
+        REGISTER_IP
+
+    }
+
+    // Whether requests are limited at all
+    private final boolean enabled;
+
+    // The buckets of each limit
+    private final Map<Limit, TokenBucketTable> tables = new EnumMap<>(Limit.class);
+
+    /**
+    * A constructor for the RateLimiter class.
+    *
+    * @param enabled Whether requests are limited.
+    * @param maxKeys The number of keys tracked at once per limit.
+    * @param loginIp The policy of login attempts per client address.
+    * @param loginAccount The policy of login attempts per account.
+    * @param registerIp The policy of registrations per client address.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public RateLimiter(@Value("${ratelimit.enabled:true}") boolean enabled,
+                       @Value("${ratelimit.max_keys:65536}") int maxKeys,
+                       @Value("${ratelimit.login.ip:30:30}") String loginIp,
+                       @Value("${ratelimit.login.account:10:5}") String loginAccount,
+                       @Value("${ratelimit.register.ip:10:5}") String registerIp) {
+        this.enabled = enabled;
+
+        tables.put(Limit.LOGIN_IP, new TokenBucketTable(RateLimitPolicy.parse(loginIp), maxKeys));
+        tables.put(Limit.LOGIN_ACCOUNT, new TokenBucketTable(RateLimitPolicy.parse(loginAccount), maxKeys));
+        tables.put(Limit.REGISTER_IP, new TokenBucketTable(RateLimitPolicy.parse(registerIp), maxKeys));
+    }
+
+    /**
+    * A method to count a request against a limit.
+    *
+    * @param limit The limit to check.
+    * @param key The client address or account the request is counted against, may be null.
+    *
+    * @throws TooManyRequestsException if the key has no requests left; it carries the time until the next one.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public void check(Limit limit, String key) {
+        if (!enabled || key == null || key.isEmpty()) {
+            return;
+        }
+
+        long waitMs = tables.get(limit).tryAcquire(key);
+
+        if (waitMs > 0) {
+            throw new TooManyRequestsException("Too many attempts, try again later", (waitMs + 999) / 1000);
+        }
+    }
+
+}
@@ -0,0 +1,255 @@
+package com.iforddow.authsuite.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+* A fixed-size table of token buckets, one per key, updated without locks.
+* The table is set-associative: a key hashes to a set of eight slots, and a key
+* that is not in its set replaces the slot whose bucket has refilled the most, so
+* memory stays bounded and idle keys are evicted first. A full bucket is the same
+* as a new one, so evicting it loses nothing, while a throttled key keeps its slot.
+* Each bucket is a single long holding the time of its last update and its tokens
+* in fixed point, so a check is a handful of reads and at most one compare-and-set,
+* and does not allocate.
+* Races between a check and the eviction of the same slot can misplace a single
+* token; a rate limit tolerates that.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public class TokenBucketTable {
+
+    // The number of slots per set
+    private static final int WAYS = 8;
+
+    // The number of fractional bits of the token count
+    private static final int FRACTION_BITS = 8;
+
+    // One token in fixed point
+    private static final long ONE = 1L << FRACTION_BITS;
+
+    // The number of bits holding the token count; the time of the last update fills the rest
+    private static final int TOKEN_BITS = 22;
+
+    // Masks the token count out of a bucket
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+
+    // The largest capacity that fits the token bits
+    static final int MAX_CAPACITY = (int) (TOKEN_MASK >>> FRACTION_BITS);
+
+    // The key hash of each slot; 0 marks an empty slot
+    private final AtomicLongArray keys;
+
+    // The bucket of each slot
+    private final AtomicLongArray buckets;
+
+    // The number of sets minus one; the number of sets is a power of two
+    private final int setMask;
+
+    // The capacity of a bucket in fixed point
+    private final long capacityUnits;
+
+    // The tokens regained per minute in fixed point
+    private final long unitsPerMinute;
+
+    // The time after which any bucket is full again, in milliseconds
+    private final long msToFull;
+
+    // The origin of the table clock
+    private final long originNanos = System.nanoTime();
+
+    /**
+    * A constructor for the TokenBucketTable class.
+    *
+    * @param policy The bucket of every key.
+    * @param maxKeys The number of keys tracked at once, rounded up to a power of two.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public TokenBucketTable(RateLimitPolicy policy, int maxKeys) {
+        if (policy.capacity() > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Rate limit capacity cannot exceed " + MAX_CAPACITY);
+        }
+
+        int sets = Integer.highestOneBit(Math.max(1, (maxKeys + WAYS - 1) / WAYS - 1)) << 1;
+
+        this.keys = new AtomicLongArray(sets * WAYS);
+        this.buckets = new AtomicLongArray(sets * WAYS);
+        this.setMask = sets - 1;
+        this.capacityUnits = policy.capacity() * ONE;
+        this.unitsPerMinute = policy.refillPerMinute() * ONE;
+        this.msToFull = (capacityUnits * 60_000 + unitsPerMinute - 1) / unitsPerMinute;
+    }
+
+    /**
+    * A method to take a token from the bucket of a key.
+    *
+    * @param key The key, for example a client address; letter case is ignored.
+    * @return 0 if a token was taken, otherwise the milliseconds until the next token is available.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public long tryAcquire(CharSequence key) {
+        return tryAcquire(hash(key), (System.nanoTime() - originNanos) / 1_000_000);
+    }
+
+    /**
+    * A method to take a token from the bucket of a hashed key at a given time.
+    *
+    * @param keyHash The hash of the key.
+    * @param nowMs The current time on the table clock, in milliseconds.
+    * @return 0 if a token was taken, otherwise the milliseconds until the next token is available.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    long tryAcquire(long keyHash, long nowMs) {
+        long key = keyHash != 0 ? keyHash : 1;
+        int base = (int) (mix(key) & setMask) * WAYS;
+
+        while (true) {
+            int slot = find(base, key);
+
+            if (slot < 0) {
+                slot = claim(base, key, nowMs);
+
+                if (slot < 0) {
+                    continue;
+                }
+            }
+
+            long bucket = buckets.get(slot);
+
+            if (keys.get(slot) != key) {
+                continue;
+            }
+
+            long last = bucket >>> TOKEN_BITS;
+            long elapsed = Math.max(0, nowMs - last);
+
+            long available;
+            long updated;
+
+            if (elapsed >= msToFull) {
+                available = capacityUnits;
+                updated = nowMs;
+            } else {
+                long gained = elapsed * unitsPerMinute / 60_000;
+                available = (bucket & TOKEN_MASK) + gained;
+
+                if (available >= capacityUnits) {
+                    available = capacityUnits;
+                    updated = nowMs;
+                } else {
+                    // Only the time worth of the whole units gained is spent, so slow refills are not lost
+                    updated = last + gained * 60_000 / unitsPerMinute;
+                }
+            }
+
+            // A denied check writes nothing, so a flood of throttled requests causes no contention
+            if (available < ONE) {
+                long waitMs = ((ONE - available) * 60_000 + unitsPerMinute - 1) / unitsPerMinute - (nowMs - updated);
+                return Math.max(1, waitMs);
+            }
+
+            if (buckets.compareAndSet(slot, bucket, (updated << TOKEN_BITS) | (available - ONE))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+    * A method to find the slot of a key within its set.
+    *
+    * @param base The first slot of the set.
+    * @param key The hash of the key.
+    * @return The slot, or -1 if the key is not in the set.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private int find(int base, long key) {
+        for (int way = 0; way < WAYS; way++) {
+            if (keys.get(base + way) == key) {
+                return base + way;
+            }
+        }
+        return -1;
+    }
+
+    /**
+    * A method to give a key a slot in its set with a full bucket, replacing an empty
+    * slot or else the slot whose bucket holds the most tokens by now.
+    *
+    * @param base The first slot of the set.
+    * @param key The hash of the key.
+    * @param nowMs The current time on the table clock, in milliseconds.
+    * @return The slot, or -1 if another thread changed the victim first.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private int claim(int base, long key, long nowMs) {
+        int victim = base;
+        long victimKey = keys.get(base);
+        long fullest = -1;
+
+        for (int way = 0; way < WAYS; way++) {
+            long candidateKey = keys.get(base + way);
+
+            if (candidateKey == 0) {
+                victim = base + way;
+                victimKey = 0;
+                break;
+            }
+
+            long bucket = buckets.get(base + way);
+            long elapsed = Math.max(0, nowMs - (bucket >>> TOKEN_BITS));
+            long projected = elapsed >= msToFull
+                    ? capacityUnits
+                    : Math.min(capacityUnits, (bucket & TOKEN_MASK) + elapsed * unitsPerMinute / 60_000);
+
+            if (projected > fullest) {
+                fullest = projected;
+                victim = base + way;
+                victimKey = candidateKey;
+            }
+        }
+
+        if (!keys.compareAndSet(victim, victimKey, key)) {
+            return -1;
+        }
+
+        buckets.set(victim, (nowMs << TOKEN_BITS) | capacityUnits);
+        return victim;
+    }
+
+    /**
+    * A method to hash a key to 64 bits without allocating, ignoring letter case.
+    *
+    * @param key The key.
+    * @return The hash of the key.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    static long hash(CharSequence key) {
+        long hash = 0xCBF29CE484222325L;
+
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= Character.toLowerCase(key.charAt(i));
+            hash *= 0x100000001B3L;
+        }
+
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+
+}
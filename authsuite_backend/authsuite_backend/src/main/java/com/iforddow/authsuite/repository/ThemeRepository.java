@@ -1,6 +1,7 @@
 package com.iforddow.authsuite.repository;
 import com.iforddow.authsuite.jpa.entity.ThemeSetting;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 /**
 * A repository interface for managing theme settings.
@@ -13,4 +14,9 @@ import org.springframework.data.jpa.repository.JpaRepository;
 public interface ThemeRepository extends JpaRepository<ThemeSetting, Integer> {
 
     ThemeSetting findFirstByOrderByIdDesc();
+
+    // Loads the latest theme together with the user who last updated it, in one query
+    @Query("select t from ThemeSetting t left join fetch t.lastUpdatedBy order by t.id desc limit 1")
+    ThemeSetting findLatestWithLastUpdatedBy();
+
 }
@@ -1,6 +1,11 @@
 package com.iforddow.authsuite.repository;
 import com.iforddow.authsuite.jpa.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -9,12 +14,27 @@ import java.util.UUID;
 * A repository interface for managing user entities.
 * This interface extends JpaRepository to provide CRUD operations
 * for User entities.
+* Roles and permissions are lazy, so each lookup names the fetch plan it needs.
+* Emails are matched case-insensitively, served by the unique lower(email) index.
+* Paged listings go through the keyset search in UserSearchRepository.
 *
 * @author IFD
 * @date 2025-06-19
 * */
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserSearchRepository {
 
-    Optional<User> findByEmail(String email);
+    // Loads the user with roles, role permissions and direct permissions in a single query
+    @EntityGraph(User.AUTHORIZATION_GRAPH)
+    @Query("select u from User u where lower(u.email) = lower(:email)")
+    Optional<User> findWithAuthorizationByEmail(@Param("email") String email);
+
+    @Query("select count(u) > 0 from User u where lower(u.email) = lower(:email)")
+    boolean existsByEmail(@Param("email") String email);
+
+    // Replaces the password hash without loading the user
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") UUID id, @Param("password") String password);
 
 }
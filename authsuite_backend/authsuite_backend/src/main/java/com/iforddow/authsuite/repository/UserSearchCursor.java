@@ -0,0 +1,74 @@
+package com.iforddow.authsuite.repository;
+
+import com.iforddow.authsuite.exception.BadBodyException;
+import com.iforddow.authsuite.repository.projection.UserSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+* The position of a page in the user search.
+* Pages are ordered by creation time and id, newest first, and the next page
+* starts right after the last user of the previous one. Clients receive the
+* position as an opaque string and send it back unchanged.
+*
+* @param createdAt The creation time of the last user of the previous page.
+* @param id The id of the last user of the previous page.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public record UserSearchCursor(Instant createdAt, UUID id) {
+
+    /**
+    * A method to create the cursor pointing after a user.
+    *
+    * @param user The last user of a page.
+    * @return The cursor of the next page.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static UserSearchCursor after(UserSummary user) {
+        return new UserSearchCursor(user.createdAt(), user.id());
+    }
+
+    /**
+    * A method to encode the cursor as an opaque string.
+    *
+    * @return The encoded cursor.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public String encode() {
+        String value = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+    * A method to decode a cursor sent by a client.
+    *
+    * @param encoded The encoded cursor.
+    * @return The decoded cursor.
+    *
+    * @throws BadBodyException if the cursor is malformed.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static UserSearchCursor decode(String encoded) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int separator = value.indexOf('|');
+
+            return new UserSearchCursor(Instant.parse(value.substring(0, separator)), UUID.fromString(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadBodyException("Invalid cursor");
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.iforddow.authsuite.repository;
+
+import com.iforddow.authsuite.repository.projection.UserSummary;
+import com.iforddow.authsuite.request.UserSearchRequest;
+
+import java.util.List;
+
+/**
+* A repository fragment for the keyset-paginated user search.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public interface UserSearchRepository {
+
+    /**
+    * A method to find a page of users matching the filters, newest first.
+    *
+    * @param filters The filters to apply; the limit and cursor fields are ignored.
+    * @param after The position to start after, or null for the first page.
+    * @param limit The maximum number of users to return.
+    * @return The matching users, ordered by creation time and id, descending.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    List<UserSummary> search(UserSearchRequest filters, UserSearchCursor after, int limit);
+
+}
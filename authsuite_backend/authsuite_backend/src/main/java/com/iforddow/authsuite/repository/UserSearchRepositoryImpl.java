@@ -0,0 +1,98 @@
+package com.iforddow.authsuite.repository;
+
+import com.iforddow.authsuite.repository.projection.UserSummary;
+import com.iforddow.authsuite.request.UserSearchRequest;
+import com.iforddow.authsuite.utils.AuthSuiteUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+* The implementation of the user search.
+* Only the filters that are set are added to the query. Pages are found by seeking
+* past the last (created_at, id) of the previous page rather than by offset, so
+* every page costs the same regardless of how deep it is.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@RequiredArgsConstructor
+public class UserSearchRepositoryImpl implements UserSearchRepository {
+
+    // NamedParameterJdbcTemplate used to run the search
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<UserSummary> search(UserSearchRequest filters, UserSearchCursor after, int limit) {
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT u.id, u.email, u.created_at, u.last_active, u.is_superuser FROM \"user\" u WHERE 1 = 1");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+
+        if (AuthSuiteUtils.isNotNullOrEmpty(filters.getEmailPrefix())) {
+            sql.append(" AND lower(u.email) LIKE :emailPrefix ESCAPE '\\'");
+            params.addValue("emailPrefix", escapeLike(filters.getEmailPrefix().toLowerCase(Locale.ROOT)) + "%");
+        }
+
+        if (filters.getCreatedAfter() != null) {
+            sql.append(" AND u.created_at >= :createdAfter");
+            params.addValue("createdAfter", Timestamp.from(filters.getCreatedAfter()));
+        }
+
+        if (filters.getCreatedBefore() != null) {
+            sql.append(" AND u.created_at < :createdBefore");
+            params.addValue("createdBefore", Timestamp.from(filters.getCreatedBefore()));
+        }
+
+        if (filters.getActiveAfter() != null) {
+            sql.append(" AND u.last_active >= :activeAfter");
+            params.addValue("activeAfter", Timestamp.from(filters.getActiveAfter()));
+        }
+
+        if (filters.getActiveBefore() != null) {
+            sql.append(" AND u.last_active < :activeBefore");
+            params.addValue("activeBefore", Timestamp.from(filters.getActiveBefore()));
+        }
+
+        if (AuthSuiteUtils.isNotNullOrEmpty(filters.getRole())) {
+            sql.append(" AND EXISTS (SELECT 1 FROM user_role ur JOIN role r ON r.id = ur.role_id")
+                    .append(" WHERE ur.user_id = u.id AND r.name = :role)");
+            params.addValue("role", filters.getRole());
+        }
+
+        if (after != null) {
+            sql.append(" AND (u.created_at, u.id) < (:afterCreatedAt, :afterId)");
+            params.addValue("afterCreatedAt", Timestamp.from(after.createdAt()));
+            params.addValue("afterId", after.id());
+        }
+
+        sql.append(" ORDER BY u.created_at DESC, u.id DESC LIMIT :limit");
+        params.addValue("limit", limit);
+
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> new UserSummary(
+                rs.getObject("id", UUID.class),
+                rs.getString("email"),
+                rs.getTimestamp("created_at").toInstant(),
+                rs.getTimestamp("last_active").toInstant(),
+                rs.getBoolean("is_superuser")));
+    }
+
+    /**
+    * A method to escape the LIKE wildcards in a literal prefix.
+    *
+    * @param value The literal prefix.
+    * @return The prefix with %, _ and \ escaped.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+}
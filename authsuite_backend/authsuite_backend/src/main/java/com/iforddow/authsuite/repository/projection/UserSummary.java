@@ -0,0 +1,19 @@
+package com.iforddow.authsuite.repository.projection;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+* A projection of a user with the columns shown in user listings.
+* Loading it reads one row and no password, roles or permissions.
+*
+* @param id The id of the user.
+* @param email The email of the user.
+* @param createdAt When the user was created.
+* @param lastActive When the user was last active.
+* @param isSuperuser Whether the user is a superuser.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public record UserSummary(UUID id, String email, Instant createdAt, Instant lastActive, boolean isSuperuser) {}
@@ -0,0 +1,18 @@
+package com.iforddow.authsuite.request;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A request object for introspecting a batch of access tokens.
+ *
+ * @author IFD
+ * @date 2026-10-18
+ */
+@Data
+public class IntrospectionRequest {
+
+    private List<String> tokens;
+
+}
@@ -0,0 +1,27 @@
+package com.iforddow.authsuite.request;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.Instant;
+
+/**
+* A request object for searching users.
+* Every filter is optional; ranges include their start and exclude their end.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Data
+public class UserSearchRequest {
+
+    private String emailPrefix;
+    private String role;
+    private @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdAfter;
+    private @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdBefore;
+    private @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant activeAfter;
+    private @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant activeBefore;
+    private Integer limit;
+    private String cursor;
+
+}
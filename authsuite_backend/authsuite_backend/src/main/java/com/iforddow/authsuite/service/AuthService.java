@@ -1,18 +1,27 @@
 package com.iforddow.authsuite.service;
 
 import com.iforddow.authsuite.dto.UserDTO;
+import com.iforddow.authsuite.event.UsersCreatedEvent;
 import com.iforddow.authsuite.exception.*;
+import com.iforddow.authsuite.impl.UserDetailsServiceImpl;
+import com.iforddow.authsuite.impl.UserPrincipal;
 import com.iforddow.authsuite.jpa.entity.User;
+import com.iforddow.authsuite.jwt.TokenRevocationList;
+import com.iforddow.authsuite.ratelimit.FailedLoginTracker;
+import com.iforddow.authsuite.ratelimit.RateLimiter;
 import com.iforddow.authsuite.repository.UserRepository;
+import io.jsonwebtoken.Claims;
 import com.iforddow.authsuite.request.LoginRequest;
 import com.iforddow.authsuite.request.RegisterRequest;
 import com.iforddow.authsuite.utils.AuthSuiteUtils;
 import com.iforddow.authsuite.utils.PasswordUtils;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -20,12 +29,14 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.Date;
 import java.util.Map;
-import java.util.Optional;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -40,6 +51,20 @@ public class AuthService {
     private final JwtService jwtService;
     private final ServletResponse servletResponse;
 
+    private final UserDetailsServiceImpl userDetailsService;
+
+    private final UserActivityBuffer userActivityBuffer;
+
+    private final SessionService sessionService;
+
+    private final TokenRevocationList tokenRevocationList;
+
+    private final RateLimiter rateLimiter;
+
+    private final FailedLoginTracker failedLoginTracker;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     /**
     * A method to handle user registration.
     *
@@ -86,11 +111,8 @@ public class AuthService {
             throw new BadBodyException(validationError);
         }
 
-        // Check to ensure the password is not null or empty
-        Optional<User> existingUser = userRepository.findByEmail(registerRequest.getEmail());
-
         // If a user with the same email already exists, throw an exception
-        if(existingUser.isPresent()) {
+        if(userRepository.existsByEmail(registerRequest.getEmail())) {
             throw new ResourceAlreadyExists("A user with this email already exists");
         }
 
@@ -106,6 +128,9 @@ public class AuthService {
         // Save the user to the database
         userRepository.save(user);
 
+        // Once committed, the email must no longer be remembered as having no account
+        eventPublisher.publishEvent(UsersCreatedEvent.of(user.getEmail()));
+
         // Create a UserDTO to return
         UserDTO userDTO = new UserDTO(user);
 
@@ -118,25 +143,30 @@ public class AuthService {
     * A method to handle user login.
     *
     * @param loginRequest The request object containing user login details.
+    * @param request The HTTP request, for the client address.
     *
     * @return ResponseEntity containing UserDTO if login is successful.
     *
-    * @throws ResourceNotFoundException if the user is not found with the provided email.
+    * @throws InvalidCredentialsException if no user exists with the provided email or the password is wrong.
+    * @throws TooManyRequestsException if the account has had too many login attempts, or the
+    * account or client address is locked out after too many failures.
     *
     * @author IFD
     * @date 2025-06-15
     * */
-    public ResponseEntity<Map<String, Object>> login(LoginRequest loginRequest, HttpServletResponse response) {
+    public ResponseEntity<Map<String, Object>> login(LoginRequest loginRequest, HttpServletRequest request, HttpServletResponse response) {
 
-        Optional<User> user = userRepository.findByEmail(loginRequest.getUsername());
+        // Limit the attempts against a single account, whichever addresses they come from
+        rateLimiter.check(RateLimiter.Limit.LOGIN_ACCOUNT, loginRequest.getUsername());
 
-        // Check if the user exists
-        if(user.isEmpty()) {
-            throw new ResourceNotFoundException("User not found with email: " + loginRequest.getUsername());
-        }
+        // Refuse accounts and addresses locked out by earlier failures before hashing anything
+        failedLoginTracker.checkLocked(loginRequest.getUsername(), request.getRemoteAddr());
+
+        // The LoginAuthenticationProvider loads the user once and verifies the password against it
+        Authentication authentication;
 
         try {
-            Authentication authentication = authenticationManager.authenticate(
+            authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword())
             );
 
@@ -144,27 +174,29 @@ public class AuthService {
 
         } catch (AuthenticationException ex) {
 
-            if(ex instanceof BadCredentialsException) {
+            // An unknown email is answered like a wrong password, so logins cannot be used to find accounts
+            if(ex instanceof UsernameNotFoundException || ex instanceof BadCredentialsException) {
+                failedLoginTracker.recordFailure(loginRequest.getUsername(), request.getRemoteAddr());
                 throw new InvalidCredentialsException("Invalid credentials provided");
             }
             // Log or return the specific error
             throw new BadBodyException("Authentication failed: " + ex.getMessage());
         }
 
-        String accessToken = jwtService.generateJwtToken(loginRequest.getUsername());
-        String refreshToken = jwtService.generateRefreshToken(loginRequest.getUsername());
+        // The authenticated principal is the same snapshot the password was checked against
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
 
-        Cookie refreshCookie = new Cookie("auth_rt", refreshToken);
+        userActivityBuffer.record(principal.id(), Instant.now());
 
-        refreshCookie.setHttpOnly(true);
-        refreshCookie.setPath("/");
-        refreshCookie.setMaxAge(jwtService.jwtRefreshExpirationMs / 1000);
-        refreshCookie.setSecure(true);
+        String accessToken = jwtService.generateJwtToken(principal);
+
+        // Start a server-side session; its refresh token is single-use
+        String refreshToken = sessionService.start(principal);
 
-        response.addCookie(refreshCookie);
+        response.addCookie(refreshCookie(refreshToken, jwtService.jwtRefreshExpirationMs / 1000));
 
         //Make UserDTO
-        UserDTO userDTO = new UserDTO(user.get());
+        UserDTO userDTO = new UserDTO(principal);
 
         return ResponseEntity.ok(Map.of("user", userDTO, "accessToken", accessToken));
 
@@ -172,36 +204,51 @@ public class AuthService {
 
     /**
     * A method to handle token refresh requests.
+    * The presented refresh token is consumed and replaced by a new one in the cookie.
     *
     * @param refreshToken The refresh token from the request cookie.
+    * @param response The response the new refresh token cookie is added to.
     * @return ResponseEntity containing the new access token if refresh is successful.
     *
     * @throws BadBodyException if the refresh token is invalid.
+    * @throws InvalidCredentialsException if the refresh token was already used.
+    * @throws ResourceNotFoundException if the user no longer exists; the session is ended.
     *
     * @author IFD
     * @date 2025-06-15
     * */
-    public ResponseEntity<Map<String, Object>> refreshToken(String refreshToken) {
+    public ResponseEntity<Map<String, Object>> refreshToken(String refreshToken, HttpServletResponse response) {
+
+        Claims claims = jwtService.parseClaims(refreshToken);
 
-        if (jwtService.validateJwtToken(refreshToken)) {
+        if (claims != null) {
 
-            String username = jwtService.getUsernameFromToken(refreshToken);
-            String newAccessToken = jwtService.generateJwtToken(username);
+            String username = claims.getSubject();
 
-            // Get the user from the database
-            Optional<User> user = userRepository.findByEmail(username);
+            // Get the user snapshot, which carries the authorities for the new access token.
+            // It is loaded before the rotation, so a deleted user is never issued a new refresh token
+            UserPrincipal user;
 
-            if (user.isEmpty()) {
+            try {
+                user = userDetailsService.loadUserByUsername(username);
+            } catch (UsernameNotFoundException ex) {
+                sessionService.end(refreshToken);
+                response.addCookie(refreshCookie("", 0));
                 throw new ResourceNotFoundException("User not found with email: " + username);
             }
 
-            // Update the user's last active time
-            user.get().setLastActive(new Date().toInstant());
+            // Consume the refresh token and issue its successor
+            String nextRefreshToken = sessionService.rotate(claims);
 
-            // Save the updated user back to the database
-            userRepository.save(user.get());
+            response.addCookie(refreshCookie(nextRefreshToken, jwtService.jwtRefreshExpirationMs / 1000));
 
-            UserDTO userDTO = new UserDTO(user.get());
+            // Issue the new access token with the user's current authorization claims
+            String newAccessToken = jwtService.generateJwtToken(user);
+
+            // Record the user's activity; it is written to the database in coalesced batches
+            userActivityBuffer.record(user.id(), Instant.now());
+
+            UserDTO userDTO = new UserDTO(user);
 
             return ResponseEntity.ok(Map.of("accessToken", newAccessToken, "user", userDTO));
 
@@ -212,4 +259,55 @@ public class AuthService {
         }
     }
 
+    /**
+    * A method to handle logout requests.
+    * The session of the refresh token is revoked, the cookie is cleared, and the
+    * access token is revoked so it stops working before it expires.
+    *
+    * @param refreshToken The refresh token from the request cookie, may be null.
+    * @param accessToken The bearer access token of the request, may be null.
+    * @param response The response the cleared cookie is added to.
+    * @return An empty ResponseEntity.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public ResponseEntity<Void> logout(String refreshToken, String accessToken, HttpServletResponse response) {
+
+        sessionService.end(refreshToken);
+
+        Claims claims = accessToken != null ? jwtService.parseClaims(accessToken) : null;
+        UUID tokenId = claims != null ? JwtService.tokenId(claims) : null;
+
+        if (tokenId != null) {
+            tokenRevocationList.revoke(tokenId, claims.getExpiration().toInstant());
+        }
+
+        response.addCookie(refreshCookie("", 0));
+
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+    * A method to create the refresh token cookie.
+    *
+    * @param refreshToken The refresh token.
+    * @param maxAge The lifetime of the cookie in seconds, 0 to delete it.
+    * @return The refresh token cookie.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private Cookie refreshCookie(String refreshToken, int maxAge) {
+
+        Cookie refreshCookie = new Cookie("auth_rt", refreshToken);
+
+        refreshCookie.setHttpOnly(true);
+        refreshCookie.setPath("/");
+        refreshCookie.setMaxAge(maxAge);
+        refreshCookie.setSecure(true);
+
+        return refreshCookie;
+    }
+
 }
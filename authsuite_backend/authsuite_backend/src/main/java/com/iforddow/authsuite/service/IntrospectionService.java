@@ -0,0 +1,245 @@
+package com.iforddow.authsuite.service;
+
+import com.iforddow.authsuite.cache.BoundedCache;
+import com.iforddow.authsuite.dto.IntrospectionDTO;
+import com.iforddow.authsuite.exception.BadBodyException;
+import com.iforddow.authsuite.jwt.AuthorizationVersions;
+import com.iforddow.authsuite.jwt.TokenDigest;
+import com.iforddow.authsuite.jwt.TokenRevocationList;
+import com.iforddow.authsuite.request.IntrospectionRequest;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+* A service for introspecting batches of access tokens on behalf of gateways.
+* A batch is split into chunks that are verified in parallel; the request thread
+* verifies the first chunk itself. Active results are cached until the token
+* expires, since everything they report is signed into the token, but a cached
+* result is still checked against the revocation list and the user's authorization
+* version, so a token minted before a change to the user's roles or permissions is
+* reported inactive, as the JwtFilter refuses it. Inactive results are not cached.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Service
+public class IntrospectionService {
+
+    // An active result, with what is needed to check it against the revocation list and the authorization version
+    private record CachedResult(UUID tokenId, UUID userId, int authzVersion, IntrospectionDTO result) {}
+
+    // The number of tokens verified by one task
+    private static final int CHUNK_SIZE = 32;
+
+    // JwtService for verifying tokens
+    private final JwtService jwtService;
+
+    // The list of tokens revoked before they expire
+    private final TokenRevocationList revocationList;
+
+    // The current authorization versions of the users
+    private final AuthorizationVersions authorizationVersions;
+
+    // Active results, keyed by token digest
+    private final BoundedCache<TokenDigest, CachedResult> cache;
+
+    // The threads verifying the chunks of a batch
+    private final ThreadPoolExecutor executor;
+
+    // The largest number of tokens accepted in one request
+    private final int maxBatch;
+
+    /**
+    * A constructor for the IntrospectionService class.
+    *
+    * @param jwtService JwtService for verifying tokens.
+    * @param revocationList The list of tokens revoked before they expire.
+    * @param authorizationVersions The current authorization versions of the users.
+    * @param cacheSize The maximum number of active results held at once.
+    * @param maxBatch The largest number of tokens accepted in one request.
+    * @param threads The number of verification threads, 0 for one per core.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public IntrospectionService(JwtService jwtService,
+                                TokenRevocationList revocationList,
+                                AuthorizationVersions authorizationVersions,
+                                @Value("${introspection.cache.max_size:100000}") int cacheSize,
+                                @Value("${introspection.max_batch:1000}") int maxBatch,
+                                @Value("${introspection.threads:0}") int threads) {
+        this.jwtService = jwtService;
+        this.revocationList = revocationList;
+        this.authorizationVersions = authorizationVersions;
+        this.cache = new BoundedCache<>(cacheSize);
+        this.maxBatch = maxBatch;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+
+        // A full queue makes the request thread verify the chunk itself, which slows the caller down
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(poolSize * 4),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "token-introspection-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+    * A method to introspect a batch of tokens.
+    *
+    * @param request The request containing the tokens.
+    * @return A ResponseEntity containing one result per token, in the order of the request.
+    *
+    * @throws BadBodyException if no tokens are given or the batch is too large.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public ResponseEntity<Map<String, List<IntrospectionDTO>>> introspect(IntrospectionRequest request) {
+
+        List<String> tokens = request.getTokens();
+
+        if (tokens == null || tokens.isEmpty()) {
+            throw new BadBodyException("At least one token is required");
+        }
+
+        if (tokens.size() > maxBatch) {
+            throw new BadBodyException("At most " + maxBatch + " tokens can be introspected at once");
+        }
+
+        IntrospectionDTO[] results = new IntrospectionDTO[tokens.size()];
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+
+        for (int from = CHUNK_SIZE; from < tokens.size(); from += CHUNK_SIZE) {
+            int start = from;
+            int end = Math.min(tokens.size(), from + CHUNK_SIZE);
+
+            chunks.add(CompletableFuture.runAsync(() -> introspect(tokens, results, start, end), executor));
+        }
+
+        introspect(tokens, results, 0, Math.min(tokens.size(), CHUNK_SIZE));
+
+        CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+
+        return ResponseEntity.ok(Map.of("results", Arrays.asList(results)));
+    }
+
+    /**
+    * A method to introspect a single token.
+    *
+    * @param token The raw token.
+    * @return The introspection result.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public IntrospectionDTO introspect(String token) {
+
+        if (token == null || token.isBlank()) {
+            return IntrospectionDTO.INACTIVE;
+        }
+
+        TokenDigest digest = TokenDigest.of(token);
+        CachedResult cached = cache.get(digest);
+
+        if (cached != null) {
+            return isLive(cached.tokenId(), cached.userId(), cached.authzVersion()) ? cached.result() : IntrospectionDTO.INACTIVE;
+        }
+
+        Claims claims = jwtService.parseClaims(token);
+
+        // Refresh tokens are signed with the same keys, but are not bearer credentials
+        if (claims == null || claims.getSubject() == null || !JwtService.isAccessToken(claims)) {
+            return IntrospectionDTO.INACTIVE;
+        }
+
+        UUID tokenId = JwtService.tokenId(claims);
+        String uid = claims.get(JwtService.USER_ID_CLAIM, String.class);
+        UUID userId = uid != null ? UUID.fromString(uid) : null;
+        int authzVersion = JwtService.authzVersion(claims);
+
+        if (!isLive(tokenId, userId, authzVersion)) {
+            return IntrospectionDTO.INACTIVE;
+        }
+
+        Collection<?> claimed = claims.get(JwtService.AUTHORITIES_CLAIM, Collection.class);
+
+        IntrospectionDTO result = new IntrospectionDTO(
+                true,
+                claims.getSubject(),
+                uid,
+                claims.getExpiration().getTime() / 1000,
+                claimed != null ? claimed.stream().map(Object::toString).toList() : List.of());
+
+        cache.put(digest, new CachedResult(tokenId, userId, authzVersion, result), claims.getExpiration().getTime());
+
+        return result;
+    }
+
+    /**
+    * A method to check that a verified token is neither revoked nor behind its user's authorization version.
+    * Tokens without a user id carry no authorities, so only their revocation is checked.
+    *
+    * @param tokenId The id of the token, may be null.
+    * @param userId The id of the user, may be null.
+    * @param authzVersion The authorization version of the token.
+    * @return true if the token is still active.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private boolean isLive(UUID tokenId, UUID userId, int authzVersion) {
+        return !revocationList.isRevoked(tokenId)
+                && (userId == null || authorizationVersions.isCurrent(userId, authzVersion));
+    }
+
+    /**
+    * A method to stop the verification threads when the application shuts down.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+    * A method to introspect a range of a batch.
+    *
+    * @param tokens The tokens of the batch.
+    * @param results The results of the batch, filled in for the range.
+    * @param start The first index of the range.
+    * @param end The index after the last of the range.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private void introspect(List<String> tokens, IntrospectionDTO[] results, int start, int end) {
+        for (int i = start; i < end; i++) {
+            results[i] = introspect(tokens.get(i));
+        }
+    }
+
+}
@@ -0,0 +1,196 @@
+package com.iforddow.authsuite.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iforddow.authsuite.jwt.JwtKey;
+import com.iforddow.authsuite.jwt.JwtKeyRing;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.ECPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+* A service publishing the public keys of the key ring as a JSON Web Key Set (RFC 7517).
+* Services that receive our tokens fetch the set once and verify ES256 tokens locally,
+* refetching it only when they meet an unknown kid or their cached copy expires.
+* The set is serialized once per key ring state and served with a strong ETag, so a
+* revalidation costs a 304. HMAC keys are secrets and are never published.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Service
+public class JwksService {
+
+    // The serialized key set, and the key ring state it was built from
+    private record Published(JwtKey active, Instant validUntil, byte[] body, String etag) {}
+
+    // The size of a P-256 coordinate in bytes
+    private static final int P256_COORDINATE_SIZE = 32;
+
+    // The key ring whose public keys are published
+    private final JwtKeyRing keyRing;
+
+    // The mapper used to serialize the key set
+    private final ObjectMapper objectMapper;
+
+    // How long clients may use their copy of the key set without revalidating
+    private final Duration maxAge;
+
+    // The current key set
+    private volatile Published published;
+
+    /**
+    * A constructor for the JwksService class.
+    *
+    * @param keyRing The key ring whose public keys are published.
+    * @param objectMapper The mapper used to serialize the key set.
+    * @param maxAgeSeconds How long clients may cache the key set, in seconds.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public JwksService(JwtKeyRing keyRing, ObjectMapper objectMapper,
+                       @Value("${jwt.jwks.max_age_s:300}") long maxAgeSeconds) {
+        this.keyRing = keyRing;
+        this.objectMapper = objectMapper;
+        this.maxAge = Duration.ofSeconds(maxAgeSeconds);
+    }
+
+    /**
+    * A method to get the JSON Web Key Set.
+    *
+    * @return A ResponseEntity containing the key set as JSON, or 304 if it matches If-None-Match.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public ResponseEntity<byte[]> getJwks() {
+        Published current = current();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.maxAge(maxAge).cachePublic())
+                .eTag(current.etag())
+                .body(current.body());
+    }
+
+    /**
+    * A method to get the key set of the current key ring state.
+    * It is rebuilt after a rotation, and when a retired key stops being accepted.
+    *
+    * @return The published key set.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private Published current() {
+        Published current = published;
+        Instant now = Instant.now();
+
+        if (current != null && current.active() == keyRing.active() && now.isBefore(current.validUntil())) {
+            return current;
+        }
+
+        List<Map<String, Object>> keys = new ArrayList<>();
+        Instant validUntil = Instant.MAX;
+
+        for (JwtKey key : keyRing.keys()) {
+            if (!key.acceptsAt(now) || !(key.verificationKey() instanceof ECPublicKey publicKey)) {
+                continue;
+            }
+
+            keys.add(ecJwk(key.kid(), publicKey));
+
+            if (key.retiredUntil() != null && key.retiredUntil().isBefore(validUntil)) {
+                validUntil = key.retiredUntil();
+            }
+        }
+
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(Map.of("keys", keys));
+            current = new Published(keyRing.active(), validUntil, body, etag(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the JWK set", e);
+        }
+
+        published = current;
+        return current;
+    }
+
+    /**
+    * A method to encode a P-256 public key as a JWK (RFC 7518, section 6.2).
+    *
+    * @param kid The key id.
+    * @param publicKey The public key.
+    * @return The JWK members.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private static Map<String, Object> ecJwk(String kid, ECPublicKey publicKey) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", "ES256");
+        jwk.put("x", coordinate(publicKey.getW().getAffineX()));
+        jwk.put("y", coordinate(publicKey.getW().getAffineY()));
+
+        return jwk;
+    }
+
+    /**
+    * A method to encode a curve coordinate as fixed-length, unsigned, base64url bytes.
+    *
+    * @param value The coordinate.
+    * @return The encoded coordinate.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[P256_COORDINATE_SIZE];
+
+        int length = Math.min(bytes.length, P256_COORDINATE_SIZE);
+        System.arraycopy(bytes, bytes.length - length, fixed, P256_COORDINATE_SIZE - length, length);
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    /**
+    * A method to derive the strong entity tag of the serialized key set.
+    *
+    * @param body The serialized key set.
+    * @return The quoted entity tag.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+}
@@ -1,13 +1,20 @@
 package com.iforddow.authsuite.service;
 
+import com.iforddow.authsuite.impl.UserPrincipal;
+import com.iforddow.authsuite.jwt.JwtKey;
+import com.iforddow.authsuite.jwt.JwtKeyRing;
+import com.iforddow.authsuite.session.RefreshSession;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 
-import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * A service for handling JWT (JSON Web Token) operations.
@@ -18,11 +25,35 @@ import java.util.Date;
  * @date 2025-06-15
  * */
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
-    // The secret key used to sign the JWT tokens
-    @Value("${jwt.secret}")
-    public String jwtSecret;
+    // The claim holding the id of the user
+    public static final String USER_ID_CLAIM = "uid";
+
+    // The claim holding the authorities granted to the user
+    public static final String AUTHORITIES_CLAIM = "auth";
+
+    // The claim holding the authorization version of the user
+    public static final String AUTHZ_VERSION_CLAIM = "azv";
+
+    // The claim holding the id of the session a refresh token belongs to
+    public static final String FAMILY_CLAIM = "fam";
+
+    // The claim holding the instant the user signed in, in epoch seconds
+    public static final String AUTH_TIME_CLAIM = "auth_time";
+
+    // The claim holding what a token may be used for, so a refresh token is never accepted as an access token
+    public static final String TOKEN_USE_CLAIM = "token_use";
+
+    // The token use of access tokens, the only tokens accepted as bearer credentials
+    public static final String ACCESS_TOKEN_USE = "access";
+
+    // The token use of refresh tokens, only accepted by the refresh endpoint
+    public static final String REFRESH_TOKEN_USE = "refresh";
+
+    // The key ring holding the decoded signing keys and the shared parser
+    private final JwtKeyRing keyRing;
 
     // The expiration time for the access token in milliseconds
     @Value("${jwt.access_expiration}")
@@ -42,11 +73,35 @@ public class JwtService {
     * @date 2025-06-15
     * */
     public String generateJwtToken(String username) {
-        return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getKey())
+        return builder(username, jwtExpirationMs)
+                .setId(UUID.randomUUID().toString())
+                .claim(TOKEN_USE_CLAIM, ACCESS_TOKEN_USE)
+                .compact();
+    }
+
+    /**
+    * A method to generate a JWT token carrying the authorization claims of a user.
+    * The user id, authorities and authorization version are signed into the
+    * token so it can be authenticated without loading the user again.
+    * Each token gets a random jti, so it can be revoked before it expires.
+    *
+    * @param user The user snapshot for which to generate the JWT token.
+    * @return A JWT token as a String.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public String generateJwtToken(UserPrincipal user) {
+        List<String> authorities = user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
+        return builder(user.email(), jwtExpirationMs)
+                .setId(UUID.randomUUID().toString())
+                .claim(TOKEN_USE_CLAIM, ACCESS_TOKEN_USE)
+                .claim(USER_ID_CLAIM, user.id().toString())
+                .claim(AUTHORITIES_CLAIM, authorities)
+                .claim(AUTHZ_VERSION_CLAIM, user.authzVersion())
                 .compact();
     }
 
@@ -60,14 +115,118 @@ public class JwtService {
     * @date 2025-06-15
     * */
     public String generateRefreshToken(String username) {
-        return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + jwtRefreshExpirationMs))
-                .signWith(getKey())
+        return builder(username, jwtRefreshExpirationMs)
+                .claim(TOKEN_USE_CLAIM, REFRESH_TOKEN_USE)
+                .compact();
+    }
+
+    /**
+    * A method to generate the refresh token of a stored session.
+    * The token id, session id, user id and timestamps are signed into the token,
+    * so the stored token can be found again with a single keyed lookup.
+    *
+    * @param username The username for which to generate the refresh token.
+    * @param session The stored refresh token.
+    * @return A JWT refresh token as a String.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public String generateRefreshToken(String username, RefreshSession session) {
+        return builder(username, Date.from(session.issuedAt()), Date.from(session.expiresAt()))
+                .setId(session.id().toString())
+                .claim(TOKEN_USE_CLAIM, REFRESH_TOKEN_USE)
+                .claim(FAMILY_CLAIM, session.familyId().toString())
+                .claim(USER_ID_CLAIM, session.userId().toString())
+                .claim(AUTH_TIME_CLAIM, session.createdAt().getEpochSecond())
                 .compact();
     }
 
+    /**
+    * A method to read the stored session from the claims of a refresh token.
+    *
+    * @param claims The verified claims of the refresh token.
+    * @return The refresh token described by the claims, or null if the token was not issued for a stored session.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public RefreshSession refreshSession(Claims claims) {
+        String familyId = claims.get(FAMILY_CLAIM, String.class);
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        Number authTime = claims.get(AUTH_TIME_CLAIM, Number.class);
+
+        if (!REFRESH_TOKEN_USE.equals(claims.get(TOKEN_USE_CLAIM, String.class))
+                || claims.getId() == null || familyId == null || userId == null || authTime == null
+                || claims.getIssuedAt() == null || claims.getExpiration() == null) {
+            return null;
+        }
+
+        try {
+            return new RefreshSession(
+                    UUID.fromString(claims.getId()),
+                    UUID.fromString(familyId),
+                    UUID.fromString(userId),
+                    Instant.ofEpochSecond(authTime.longValue()),
+                    claims.getIssuedAt().toInstant(),
+                    claims.getExpiration().toInstant());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+    * A method to check that verified claims belong to an access token.
+    * Refresh tokens are signed with the same keys but are not bearer credentials,
+    * and tokens without a token use are refused too.
+    *
+    * @param claims The verified claims of the token.
+    * @return true if the token is an access token.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static boolean isAccessToken(Claims claims) {
+        return ACCESS_TOKEN_USE.equals(claims.get(TOKEN_USE_CLAIM, String.class))
+                && claims.get(FAMILY_CLAIM) == null;
+    }
+
+    /**
+    * A method to read the authorization version a token was minted at.
+    * Tokens minted without one count as the first version.
+    *
+    * @param claims The verified claims of the token.
+    * @return The authorization version of the token.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static int authzVersion(Claims claims) {
+        Number authzVersion = claims.get(AUTHZ_VERSION_CLAIM, Number.class);
+        return authzVersion != null ? authzVersion.intValue() : 0;
+    }
+
+    /**
+    * A method to read the id of a token from its jti claim.
+    *
+    * @param claims The verified claims of the token.
+    * @return The id of the token, or null if the token was issued without one.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static UUID tokenId(Claims claims) {
+        if (claims.getId() == null) {
+            return null;
+        }
+
+        try {
+            return UUID.fromString(claims.getId());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     /**
     * A method to extract the username from a JWT token.
     *
@@ -78,8 +237,7 @@ public class JwtService {
     * @date 2025-06-15
     * */
     public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getKey()).build()
+        return keyRing.parser()
                 .parseClaimsJws(token)
                 .getBody()
                 .getSubject();
@@ -95,12 +253,21 @@ public class JwtService {
     * @date 2025-06-15
     * */
     public boolean validateJwtToken(String token) {
+        return parseClaims(token) != null;
+    }
+
+    /**
+    * A method to validate a JWT token and return its claims in a single parse.
+    *
+    * @param token The JWT token to parse.
+    * @return The verified claims of the token, or null if the token is not valid.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public Claims parseClaims(String token) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getKey())
-                .build()
-                .parseClaimsJws(token);
-            return true;
+            return keyRing.parser().parseClaimsJws(token).getBody();
         } catch (SecurityException e) {
             System.out.println("Invalid JWT signature: " + e.getMessage());
         } catch (MalformedJwtException e) {
@@ -114,20 +281,57 @@ public class JwtService {
         } catch (Exception e) {
             System.out.println("JWT validation error: " + e.getMessage());
         }
-        return false;
+        return null;
     }
 
     /**
     * A method to get the signing key for JWT tokens.
+    * The key is decoded once by the key ring, so this does not allocate.
     *
-    * @return The signing key as a Key object.
+    * @return The active signing key as a Key object.
     *
     * @author IFD
     * @date 2025-06-15
     * */
     public Key getKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        return keyRing.active().signingKey();
+    }
+
+    /**
+    * A method to start a signed token for a subject using the active key.
+    *
+    * @param subject The subject of the token.
+    * @param expirationMs The lifetime of the token in milliseconds.
+    * @return A JwtBuilder with the key id, subject, and timestamps set.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private JwtBuilder builder(String subject, long expirationMs) {
+        long now = System.currentTimeMillis();
+        return builder(subject, new Date(now), new Date(now + expirationMs));
     }
 
+    /**
+    * A method to start a signed token for a subject with the given timestamps using the active key.
+    *
+    * @param subject The subject of the token.
+    * @param issuedAt The issue time of the token.
+    * @param expiration The expiration time of the token.
+    * @return A JwtBuilder with the key id, subject, and timestamps set.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private JwtBuilder builder(String subject, Date issuedAt, Date expiration) {
+        JwtKey key = keyRing.active();
+
+        return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, key.kid())
+                .setSubject(subject)
+                .setIssuedAt(issuedAt)
+                .setExpiration(expiration)
+                .signWith(key.signingKey(), key.algorithm());
+    }
 
 }
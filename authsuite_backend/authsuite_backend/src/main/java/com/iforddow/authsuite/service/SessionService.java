@@ -0,0 +1,160 @@
+package com.iforddow.authsuite.service;
+
+import com.iforddow.authsuite.dto.SessionDTO;
+import com.iforddow.authsuite.exception.BadBodyException;
+import com.iforddow.authsuite.exception.InvalidCredentialsException;
+import com.iforddow.authsuite.exception.ResourceNotFoundException;
+import com.iforddow.authsuite.impl.UserPrincipal;
+import com.iforddow.authsuite.session.RefreshSession;
+import com.iforddow.authsuite.session.RefreshTokenStore;
+import com.iforddow.authsuite.session.RotationResult;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+* A service for the server-side sessions behind refresh tokens.
+* A session starts with a login and is continued by single-use refresh tokens:
+* each refresh consumes the presented token and issues its successor, and a
+* token presented a second time revokes the session.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Service
+@RequiredArgsConstructor
+public class SessionService {
+
+    // The store holding the refresh tokens
+    private final RefreshTokenStore refreshTokenStore;
+
+    // JwtService for signing and reading refresh tokens
+    private final JwtService jwtService;
+
+    /**
+    * A method to start a session for a user who has just signed in.
+    *
+    * @param user The user signing in.
+    * @return The first refresh token of the session.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public String start(UserPrincipal user) {
+        RefreshSession session = RefreshSession.start(user.id(), Instant.now(), lifetime());
+        refreshTokenStore.save(session);
+        return jwtService.generateRefreshToken(user.email(), session);
+    }
+
+    /**
+    * A method to consume a refresh token and issue its successor.
+    *
+    * @param claims The verified claims of the presented refresh token.
+    * @return The successor refresh token.
+    *
+    * @throws BadBodyException if the token is not a live token of a stored session.
+    * @throws InvalidCredentialsException if the token was already used; the session is revoked.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public String rotate(Claims claims) {
+        RefreshSession presented = jwtService.refreshSession(claims);
+
+        if (presented == null) {
+            throw new BadBodyException("Invalid refresh token");
+        }
+
+        RefreshSession next = presented.next(Instant.now(), lifetime());
+        RotationResult result = refreshTokenStore.rotate(presented, next);
+
+        if (result == RotationResult.REUSED) {
+            System.out.println("Refresh token reuse detected, revoked session " + presented.familyId());
+            throw new InvalidCredentialsException("Refresh token was already used; the session has been revoked");
+        }
+
+        if (result != RotationResult.ROTATED) {
+            throw new BadBodyException("Invalid refresh token");
+        }
+
+        return jwtService.generateRefreshToken(claims.getSubject(), next);
+    }
+
+    /**
+    * A method to end the session of a refresh token, revoking every token issued in it.
+    *
+    * @param refreshToken The refresh token of the session, may be null.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public void end(String refreshToken) {
+        if (refreshToken == null || refreshToken.isEmpty()) {
+            return;
+        }
+
+        Claims claims = jwtService.parseClaims(refreshToken);
+        RefreshSession session = claims != null ? jwtService.refreshSession(claims) : null;
+
+        if (session != null) {
+            refreshTokenStore.revokeFamily(session.familyId(), session.userId());
+        }
+    }
+
+    /**
+    * A method to list the live sessions of a user.
+    *
+    * @param userId The id of the user.
+    * @return A ResponseEntity containing the sessions, most recently refreshed first.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public ResponseEntity<List<SessionDTO>> getSessions(UUID userId) {
+        List<SessionDTO> sessions = refreshTokenStore.findActiveByUser(userId).stream()
+                .sorted((a, b) -> b.issuedAt().compareTo(a.issuedAt()))
+                .map(SessionDTO::new)
+                .toList();
+
+        return ResponseEntity.ok(sessions);
+    }
+
+    /**
+    * A method to revoke one of the sessions of a user.
+    *
+    * @param userId The id of the user.
+    * @param sessionId The id of the session.
+    * @return An empty ResponseEntity.
+    *
+    * @throws ResourceNotFoundException if the user has no such session.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public ResponseEntity<Void> revokeSession(UUID userId, UUID sessionId) {
+        if (!refreshTokenStore.revokeFamily(sessionId, userId)) {
+            throw new ResourceNotFoundException("Session not found");
+        }
+
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+    * A method to get the lifetime of a refresh token.
+    *
+    * @return The lifetime of a refresh token.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private Duration lifetime() {
+        return Duration.ofMillis(jwtService.jwtRefreshExpirationMs);
+    }
+
+}
@@ -1,23 +1,48 @@
 package com.iforddow.authsuite.service;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.iforddow.authsuite.dto.ThemeDTO;
+import com.iforddow.authsuite.dto.ThemeSnapshot;
 import com.iforddow.authsuite.exception.BadBodyException;
+import com.iforddow.authsuite.exception.ResourceNotFoundException;
 import com.iforddow.authsuite.jpa.entity.ThemeSetting;
 import com.iforddow.authsuite.jpa.entity.User;
 import com.iforddow.authsuite.repository.ThemeRepository;
 import com.iforddow.authsuite.repository.UserRepository;
 import com.iforddow.authsuite.request.ThemeRequest;
+import com.iforddow.authsuite.storage.AssetStore;
+import com.iforddow.authsuite.storage.ImageProcessor;
+import com.iforddow.authsuite.storage.StoredImage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import java.net.MalformedURLException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.UUID;
-import static com.iforddow.authsuite.utils.AuthSuiteUtils.uploadImage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
+/**
+* A service for reading and updating the theme settings.
+* The current theme is held in memory as a serialized snapshot with a strong ETag,
+* so serving it costs neither a database query nor JSON encoding, and clients
+* that already have it get a 304. The snapshot is replaced by updateTheme and
+* reloaded periodically to pick up updates made by other instances.
+* Uploaded logos and favicons are processed in the background; the snapshot
+* switches to the new image and its variants once processing completes.
+*
+* @author IFD
+* @date 2025-06-19
+* */
 @Service
 @RequiredArgsConstructor
 public class ThemeService {
@@ -28,19 +53,53 @@ public class ThemeService {
     // Repository for user data access
     private final UserRepository userRepository;
 
+    // The content-addressed store for the uploaded logo and favicon
+    private final AssetStore assetStore;
+
+    // The background pipeline producing the logo sizes and the favicon set
+    private final ImageProcessor imageProcessor;
+
+    // The mapper used to serialize the snapshot
+    private final ObjectMapper objectMapper;
+
+    // The current theme, or null until it is first loaded
+    private final AtomicReference<ThemeSnapshot> snapshot = new AtomicReference<>();
+
+    // Serializes the read-modify-write of the theme row between updates and finished image processing
+    private final ReentrantLock themeLock = new ReentrantLock();
+
+    // Incremented for every new logo or favicon, so results of superseded uploads are dropped
+    private final AtomicLong logoGeneration = new AtomicLong();
+    private final AtomicLong faviconGeneration = new AtomicLong();
+
     /**
     * A method to retrieve the current theme settings.
+    * The response carries the ETag of the snapshot, and Spring answers a matching
+    * If-None-Match with 304 Not Modified.
     *
-    * @return A ResponseEntity containing the current ThemeDTO.
+    * @return A ResponseEntity containing the current ThemeDTO as JSON.
     *
     * @author IFD
     * @date 2025-06-19
     * */
-    public ResponseEntity<ThemeDTO> getTheme() {
+    public ResponseEntity<byte[]> getTheme() {
+        return snapshotResponse(currentSnapshot());
+    }
 
-        ThemeDTO themeDTO = new ThemeDTO(themeRepository.findFirstByOrderByIdDesc());
+    /**
+    * A method to reload the snapshot from the database.
+    * Runs periodically so updates made through other instances are picked up.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @Scheduled(fixedDelayString = "${theme.snapshot.refresh_ms:60000}", initialDelayString = "${theme.snapshot.refresh_ms:60000}")
+    public void refreshSnapshot() {
+        ThemeSetting theme = themeRepository.findLatestWithLastUpdatedBy();
 
-        return ResponseEntity.ok(themeDTO);
+        if (theme != null) {
+            snapshot.set(serialize(theme));
+        }
     }
 
     /**
@@ -49,7 +108,7 @@ public class ThemeService {
     * @param themeRequest The request object containing the theme settings to update.
     * @param reset A boolean flag indicating whether to reset the theme settings.
     *
-    * @return A ResponseEntity containing the updated ThemeDTO.
+    * @return A ResponseEntity containing the updated ThemeDTO as JSON.
     *
     * @throws BadBodyException if the last updated timestamp or user is null or empty.
     * @throws RuntimeException if the user specified in the request does not exist.
@@ -57,7 +116,7 @@ public class ThemeService {
     * @author IFD
     * @date 2025-06-19
     * */
-    public ResponseEntity<ThemeDTO> updateTheme(ThemeRequest themeRequest, boolean reset) {
+    public ResponseEntity<byte[]> updateTheme(ThemeRequest themeRequest, boolean reset) {
 
         // Validate that lastUpdated and lastUpdatedBy are not null or empty
         if (themeRequest.getLastUpdated() == null || themeRequest.getLastUpdatedBy() == null
@@ -69,8 +128,9 @@ public class ThemeService {
         User user = userRepository.findById(UUID.fromString(themeRequest.getLastUpdatedBy()))
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        // Fetch the latest theme setting
-        ThemeSetting theme = themeRepository.findFirstByOrderByIdDesc();
+        // Store the uploads as they are; resizing happens in the background
+        StoredImage logo = null;
+        StoredImage favicon = null;
 
         // Check to see if reset flag is set
         if(!reset) {
@@ -80,36 +140,170 @@ public class ThemeService {
             MultipartFile faviconFile = themeRequest.getFavicon();
 
             if (logoFile != null && !logoFile.isEmpty()) {
-                theme.setLogoUrl(uploadImage(logoFile));
+                logo = assetStore.storeImage(logoFile);
             }
 
             if (faviconFile != null && !faviconFile.isEmpty()) {
-                theme.setFaviconUrl(uploadImage(faviconFile));
+                favicon = assetStore.storeImage(faviconFile);
             }
-        }   else {
-
-            // If reset is true, clear the logo and favicon URLs
-            theme.setLogoUrl(null);
-            theme.setFaviconUrl(null);
         }
 
-        // Update the theme with the provided colors, fonts, and last updated information
-        theme.setPrimaryColor(themeRequest.getPrimaryColor());
-        theme.setSecondaryColor(themeRequest.getSecondaryColor());
-        theme.setTertiaryColor(themeRequest.getTertiaryColor());
-        theme.setLastUpdated(themeRequest.getLastUpdated());
-        theme.setLastUpdatedBy(user);
-        theme.setBodyFont(themeRequest.getBodyFont());
-        theme.setTitleFont(themeRequest.getTitleFont());
+        ThemeSnapshot updated;
 
-        // Save the updated theme setting
-        themeRepository.save(theme);
+        themeLock.lock();
+        try {
 
-        // Create a ThemeDTO from the updated theme setting
-        ThemeDTO themeDTO = new ThemeDTO(theme);
+            // Fetch the latest theme setting
+            ThemeSetting theme = themeRepository.findFirstByOrderByIdDesc();
+
+            if (reset) {
+
+                // If reset is true, clear the logo and favicon URLs, and drop uploads still being processed
+                theme.setLogoUrl(null);
+                theme.setFaviconUrl(null);
+                theme.setLogoVariants(null);
+                theme.setFaviconVariants(null);
+                logoGeneration.incrementAndGet();
+                faviconGeneration.incrementAndGet();
+            }
+
+            // The new images replace the current ones when their processing completes.
+            // Results are applied under the theme lock, so they always land after this save.
+            if (logo != null) {
+                long generation = logoGeneration.incrementAndGet();
+                imageProcessor.processLogo(logo).thenAccept(variants -> applyImage(logoGeneration, generation, current -> {
+                    current.setLogoUrl(variants.url());
+                    current.setLogoVariants(variants.variants());
+                }));
+            }
+
+            if (favicon != null) {
+                long generation = faviconGeneration.incrementAndGet();
+                imageProcessor.processFavicon(favicon).thenAccept(variants -> applyImage(faviconGeneration, generation, current -> {
+                    current.setFaviconUrl(variants.url());
+                    current.setFaviconVariants(variants.variants());
+                }));
+            }
+
+            // Update the theme with the provided colors, fonts, and last updated information
+            theme.setPrimaryColor(themeRequest.getPrimaryColor());
+            theme.setSecondaryColor(themeRequest.getSecondaryColor());
+            theme.setTertiaryColor(themeRequest.getTertiaryColor());
+            theme.setLastUpdated(themeRequest.getLastUpdated());
+            theme.setLastUpdatedBy(user);
+            theme.setBodyFont(themeRequest.getBodyFont());
+            theme.setTitleFont(themeRequest.getTitleFont());
+
+            // Save the updated theme setting
+            themeRepository.save(theme);
+
+            // Replace the snapshot so the next read serves the updated theme
+            updated = serialize(theme);
+            snapshot.set(updated);
+
+        } finally {
+            themeLock.unlock();
+        }
 
         // Return the updated theme as a ResponseEntity
-        return ResponseEntity.ok(themeDTO);
+        return snapshotResponse(updated);
+    }
+
+    /**
+    * A method to apply the result of a finished image processing to the theme.
+    * The image URL and its variants are saved and published in one snapshot. The result
+    * is dropped if a newer upload or a reset has replaced the image in the meantime.
+    *
+    * @param generations The generation counter of the image.
+    * @param generation The generation of the processed upload.
+    * @param update Sets the processed image on the theme.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private void applyImage(AtomicLong generations, long generation, Consumer<ThemeSetting> update) {
+        themeLock.lock();
+        try {
+            if (generations.get() != generation) {
+                return;
+            }
+
+            ThemeSetting theme = themeRepository.findLatestWithLastUpdatedBy();
+            update.accept(theme);
+            themeRepository.save(theme);
+
+            snapshot.set(serialize(theme));
+        } catch (RuntimeException e) {
+            System.out.println("Failed to apply the processed theme image: " + e.getMessage());
+        } finally {
+            themeLock.unlock();
+        }
+    }
+
+    /**
+    * A method to get the snapshot, loading it on first use.
+    *
+    * @return The current snapshot.
+    *
+    * @throws ResourceNotFoundException if no theme settings exist.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private ThemeSnapshot currentSnapshot() {
+        ThemeSnapshot current = snapshot.get();
+
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (snapshot) {
+            if (snapshot.get() == null) {
+                ThemeSetting theme = themeRepository.findLatestWithLastUpdatedBy();
+
+                if (theme == null) {
+                    throw new ResourceNotFoundException("Theme settings not found");
+                }
+
+                snapshot.compareAndSet(null, serialize(theme));
+            }
+            return snapshot.get();
+        }
+    }
+
+    /**
+    * A method to serialize a theme into a snapshot.
+    *
+    * @param theme The theme settings, with the user who last updated them loaded.
+    * @return The snapshot.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private ThemeSnapshot serialize(ThemeSetting theme) {
+        try {
+            return ThemeSnapshot.of(objectMapper.writeValueAsBytes(new ThemeDTO(theme)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the theme", e);
+        }
+    }
+
+    /**
+    * A method to build the response for a snapshot.
+    * Clients must revalidate before reusing a cached copy, which costs them a 304 at most.
+    *
+    * @param theme The snapshot to send.
+    * @return The response.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private static ResponseEntity<byte[]> snapshotResponse(ThemeSnapshot theme) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(theme.etag())
+                .body(theme.body());
     }
 
     public Resource getLogo(String filename) {
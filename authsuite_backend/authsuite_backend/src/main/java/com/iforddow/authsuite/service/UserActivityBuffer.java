@@ -0,0 +1,224 @@
+package com.iforddow.authsuite.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+* A write-behind buffer for the last active time of users.
+* Activity is recorded in memory and coalesced per user, then flushed once per
+* precision interval as a single batched UPDATE, so frequent logins and refreshes
+* cost one write per user per interval instead of one write each.
+* While the database is unavailable the buffer keeps at most the configured number
+* of users; activity of a failed batch beyond that is dropped and counted.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Service
+public class UserActivityBuffer {
+
+    // The largest number of rows written by a single UPDATE statement
+    private static final int BATCH_SIZE = 500;
+
+    // The latest activity of each user since the last flush
+    private final Map<UUID, Instant> pending = new ConcurrentHashMap<>();
+
+    // Ensures only one flush runs at a time
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // JdbcTemplate used for the batched updates
+    private final JdbcTemplate jdbcTemplate;
+
+    // The number of buffered users that triggers an early flush, and the most kept after a failed one
+    private final int maxPending;
+
+    // The number of users whose activity was dropped because the buffer was full
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+    * A constructor for the UserActivityBuffer class.
+    *
+    * @param jdbcTemplate JdbcTemplate used for the batched updates.
+    * @param maxPending The number of buffered users that triggers an early flush, and the most kept after a failed one.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public UserActivityBuffer(JdbcTemplate jdbcTemplate,
+                              @Value("${activity.write_behind.max_pending:10000}") int maxPending) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxPending = maxPending;
+    }
+
+    /**
+    * A method to record that a user was active.
+    *
+    * @param userId The id of the user.
+    * @param at The time of the activity.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public void record(UUID userId, Instant at) {
+        pending.merge(userId, at, (current, next) -> next.isAfter(current) ? next : current);
+
+        // Keep the buffer bounded; the caller only pays for the flush if no other flush is running
+        if (pending.size() > maxPending && flushLock.tryLock()) {
+            try {
+                flushPending();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    /**
+    * A method to write the buffered activity to the database.
+    * Runs once per precision interval, which sets how often each user's row is written.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @Scheduled(fixedDelayString = "${activity.write_behind.precision_ms:60000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+    * A method to flush the remaining activity when the application shuts down.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+    * A method to get the number of users whose activity was dropped because the buffer was full.
+    *
+    * @return The number of dropped users.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    /**
+    * A method to get the number of users whose activity is buffered.
+    *
+    * @return The number of buffered users.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+    * A method to drain the buffer into batched UPDATE statements.
+    * Must be called while holding the flush lock. The flush stops at the first
+    * failed batch, whose entries are put back so they are retried on the next flush.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private void flushPending() {
+        List<Map.Entry<UUID, Instant>> batch = new ArrayList<>(Math.min(BATCH_SIZE, pending.size()));
+
+        Iterator<UUID> ids = pending.keySet().iterator();
+
+        while (ids.hasNext()) {
+            UUID id = ids.next();
+            Instant at = pending.remove(id);
+
+            if (at != null) {
+                batch.add(Map.entry(id, at));
+            }
+
+            if (batch.size() == BATCH_SIZE) {
+                if (!write(batch)) {
+                    return;
+                }
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    /**
+    * A method to write one batch of activity with a single UPDATE ... FROM (VALUES ...) statement.
+    * A row is only moved forward, so an older buffered time never overwrites a newer one.
+    * A failed batch is put back while the buffer has room; it was drained before anything
+    * recorded since, so the activity dropped once the buffer is full is the oldest.
+    *
+    * @param batch The users and their latest activity.
+    * @return true if the batch was written.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private boolean write(List<Map.Entry<UUID, Instant>> batch) {
+        StringBuilder sql = new StringBuilder("UPDATE \"user\" AS u SET last_active = v.last_active FROM (VALUES ");
+        Object[] args = new Object[batch.size() * 2];
+
+        for (int i = 0; i < batch.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(?::uuid, ?::timestamptz)");
+            args[i * 2] = batch.get(i).getKey();
+            args[i * 2 + 1] = Timestamp.from(batch.get(i).getValue());
+        }
+
+        sql.append(") AS v(id, last_active) WHERE u.id = v.id AND u.last_active < v.last_active");
+
+        try {
+            jdbcTemplate.update(sql.toString(), args);
+            return true;
+        } catch (RuntimeException e) {
+            int lost = 0;
+
+            for (Map.Entry<UUID, Instant> entry : batch) {
+                // A user still buffered takes no more room; a new one is only kept below the cap
+                if (pending.computeIfPresent(entry.getKey(), (id, current) -> entry.getValue().isAfter(current) ? entry.getValue() : current) == null) {
+                    if (pending.size() < maxPending) {
+                        pending.merge(entry.getKey(), entry.getValue(), (current, next) -> next.isAfter(current) ? next : current);
+                    } else {
+                        lost++;
+                    }
+                }
+            }
+
+            dropped.addAndGet(lost);
+
+            System.out.println("Failed to flush user activity, retrying later: " + e.getMessage()
+                    + (lost > 0 ? " (dropped " + lost + " users, buffer full)" : ""));
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,315 @@
+package com.iforddow.authsuite.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iforddow.authsuite.exception.BadBodyException;
+import com.iforddow.authsuite.importer.ImportFormat;
+import com.iforddow.authsuite.utils.AuthSuiteUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+* A service for exporting users in bulk.
+* Users are read through a server-side cursor inside a read-only transaction and
+* written to the output stream row by row, so memory use does not depend on the
+* number of users. Roles, permissions and custom fields are aggregated to JSON by
+* the database, one row per user, instead of loading entities and their collections.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Service
+public class UserExportService {
+
+    // The optional data that can be added to each exported user
+    public enum Include { ROLES, PERMISSIONS, FIELDS }
+
+    // The columns always exported
+    private static final String BASE_COLUMNS = "u.id, u.email, u.created_at, u.last_active, u.is_superuser";
+
+    // The names of the roles of the user, as a JSON array
+    private static final String ROLES_COLUMN = "(SELECT coalesce(jsonb_agg(r.name ORDER BY r.name), '[]'::jsonb) " +
+            "FROM user_role ur JOIN role r ON r.id = ur.role_id WHERE ur.user_id = u.id)::text AS roles";
+
+    // The names of the permissions granted directly to the user, as a JSON array
+    private static final String PERMISSIONS_COLUMN = "(SELECT coalesce(jsonb_agg(p.name ORDER BY p.name), '[]'::jsonb) " +
+            "FROM user_permission up JOIN permission p ON p.id = up.permission_id WHERE up.user_id = u.id)::text AS permissions";
+
+    // The custom field values of the user, as a JSON object keyed by field name
+    private static final String FIELDS_COLUMN = "(SELECT coalesce(jsonb_object_agg(d.name, coalesce(to_jsonb(v.value_string), " +
+            "to_jsonb(v.value_int), to_jsonb(v.value_bool), to_jsonb(v.value_date), to_jsonb(v.value_double), v.value_json)), '{}'::jsonb) " +
+            "FROM user_field_value v JOIN user_field_definition d ON d.id = v.field_id WHERE v.user_id = u.id)::text AS fields";
+
+    // JdbcTemplate used to run the export query
+    private final JdbcTemplate jdbcTemplate;
+
+    // Runs the export in a read-only transaction, which the driver needs to use a cursor
+    private final TransactionTemplate transactionTemplate;
+
+    // The mapper used to write NDJSON
+    private final ObjectMapper objectMapper;
+
+    // The number of rows fetched from the cursor at a time
+    private final int fetchSize;
+
+    /**
+    * A constructor for the UserExportService class.
+    *
+    * @param jdbcTemplate JdbcTemplate used to run the export query.
+    * @param transactionManager The transaction manager for the read-only transaction.
+    * @param objectMapper The mapper used to write NDJSON.
+    * @param fetchSize The number of rows fetched from the cursor at a time.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public UserExportService(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${export.users.fetch_size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.fetchSize = Math.max(1, fetchSize);
+    }
+
+    /**
+    * A method to parse the optional data requested for an export.
+    *
+    * @param names The names of the optional data, such as roles, permissions or fields.
+    * @return The data to include.
+    *
+    * @throws BadBodyException if a name is not supported.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static Set<Include> parseIncludes(Iterable<String> names) {
+
+        Set<Include> includes = EnumSet.noneOf(Include.class);
+
+        for (String name : names) {
+            if (name.isBlank()) {
+                continue;
+            }
+            try {
+                includes.add(Include.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new BadBodyException("Unsupported include " + name + ", use roles, permissions or fields");
+            }
+        }
+
+        return includes;
+    }
+
+    /**
+    * A method to write every user to an output stream.
+    * If the stream fails, for example because the client disconnected, the query
+    * is abandoned and its cursor closed with the transaction.
+    *
+    * @param out The stream to write to.
+    * @param format The format to write.
+    * @param includes The optional data to add to each user.
+    * @return The number of users written, or -1 if the export was aborted.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public long exportUsers(OutputStream out, ImportFormat format, Set<Include> includes) {
+
+        String sql = buildQuery(includes);
+
+        try {
+            return transactionTemplate.execute(status -> {
+                try (RowWriter writer = format == ImportFormat.CSV
+                        ? new CsvRowWriter(out, includes)
+                        : new JsonRowWriter(out, includes)) {
+
+                    jdbcTemplate.query(connection -> {
+                        PreparedStatement statement = connection.prepareStatement(sql,
+                                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        statement.setFetchSize(fetchSize);
+                        return statement;
+                    }, (RowCallbackHandler) rs -> {
+                        try {
+                            writer.write(rs);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+
+                    return writer.rows();
+
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            System.out.println("User export aborted: " + e.getCause().getMessage());
+            return -1;
+        }
+    }
+
+    /**
+    * A method to build the export query for the requested data.
+    *
+    * @param includes The optional data to add to each user.
+    * @return The SQL query.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private static String buildQuery(Set<Include> includes) {
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(BASE_COLUMNS);
+
+        if (includes.contains(Include.ROLES)) {
+            sql.append(", ").append(ROLES_COLUMN);
+        }
+
+        if (includes.contains(Include.PERMISSIONS)) {
+            sql.append(", ").append(PERMISSIONS_COLUMN);
+        }
+
+        if (includes.contains(Include.FIELDS)) {
+            sql.append(", ").append(FIELDS_COLUMN);
+        }
+
+        // Ordered by the primary key, so the cursor walks the index instead of sorting
+        return sql.append(" FROM \"user\" u ORDER BY u.id").toString();
+    }
+
+    /**
+    * Writes exported rows in one format.
+    */
+    private abstract static class RowWriter implements Closeable {
+
+        // The optional data added to each user
+        protected final Set<Include> includes;
+
+        // The number of users written
+        private long rows;
+
+        protected RowWriter(Set<Include> includes) {
+            this.includes = includes;
+        }
+
+        void write(ResultSet rs) throws SQLException, IOException {
+            writeRow(rs);
+            rows++;
+        }
+
+        long rows() {
+            return rows;
+        }
+
+        protected abstract void writeRow(ResultSet rs) throws SQLException, IOException;
+
+        protected static String instant(Timestamp timestamp) {
+            return timestamp != null ? timestamp.toInstant().toString() : null;
+        }
+    }
+
+    /**
+    * Writes one JSON object per line.
+    */
+    private class JsonRowWriter extends RowWriter {
+
+        private final JsonGenerator generator;
+
+        JsonRowWriter(OutputStream out, Set<Include> includes) throws IOException {
+            super(includes);
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        }
+
+        @Override
+        protected void writeRow(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeStringField("id", rs.getString("id"));
+            generator.writeStringField("email", rs.getString("email"));
+            generator.writeStringField("createdAt", instant(rs.getTimestamp("created_at")));
+            generator.writeStringField("lastActive", instant(rs.getTimestamp("last_active")));
+            generator.writeBooleanField("isSuperuser", rs.getBoolean("is_superuser"));
+
+            // The aggregates are already JSON, produced by the database
+            for (Include include : includes) {
+                generator.writeFieldName(include.name().toLowerCase(Locale.ROOT));
+                generator.writeRawValue(rs.getString(include.name().toLowerCase(Locale.ROOT)));
+            }
+
+            generator.writeEndObject();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (rows() > 0) {
+                generator.writeRaw('\n');
+            }
+            generator.close();
+        }
+    }
+
+    /**
+    * Writes a header row, then one CSV line per user. Aggregates are written as JSON text.
+    */
+    private static class CsvRowWriter extends RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out, Set<Include> includes) throws IOException {
+            super(includes);
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+            writer.write("id,email,created_at,last_active,is_superuser");
+
+            for (Include include : includes) {
+                writer.write("," + include.name().toLowerCase(Locale.ROOT));
+            }
+
+            writer.write("\n");
+        }
+
+        @Override
+        protected void writeRow(ResultSet rs) throws SQLException, IOException {
+            writer.write(rs.getString("id"));
+            writer.write(',');
+            writer.write(AuthSuiteUtils.csvField(rs.getString("email")));
+            writer.write(',');
+            writer.write(AuthSuiteUtils.csvField(instant(rs.getTimestamp("created_at"))));
+            writer.write(',');
+            writer.write(AuthSuiteUtils.csvField(instant(rs.getTimestamp("last_active"))));
+            writer.write(',');
+            writer.write(String.valueOf(rs.getBoolean("is_superuser")));
+
+            for (Include include : includes) {
+                writer.write(',');
+                writer.write(AuthSuiteUtils.csvField(rs.getString(include.name().toLowerCase(Locale.ROOT))));
+            }
+
+            writer.write('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+}
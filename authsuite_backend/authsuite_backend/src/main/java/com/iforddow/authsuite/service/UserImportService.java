@@ -0,0 +1,408 @@
+package com.iforddow.authsuite.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iforddow.authsuite.cache.BoundedCache;
+import com.iforddow.authsuite.event.UsersCreatedEvent;
+import com.iforddow.authsuite.exception.BadBodyException;
+import com.iforddow.authsuite.exception.ResourceNotFoundException;
+import com.iforddow.authsuite.exception.ServiceUnavailableException;
+import com.iforddow.authsuite.importer.ImportFormat;
+import com.iforddow.authsuite.importer.ImportJob;
+import com.iforddow.authsuite.importer.ImportRow;
+import com.iforddow.authsuite.importer.ImportRowReader;
+import com.iforddow.authsuite.password.BoundedPasswordEncoder;
+import com.iforddow.authsuite.password.PasswordEncoders;
+import com.iforddow.authsuite.utils.AuthSuiteUtils;
+import com.iforddow.authsuite.utils.PasswordUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+* A service for importing users in bulk.
+* The import file is streamed in batches: each batch is validated, checked against
+* existing accounts with a single query, has its plaintext passwords hashed in
+* parallel and is written with one JDBC batch insert. Passwords that are already
+* encoded in a supported {id}hash format are stored as they are. Every batch commits
+* on its own, so a failed import keeps the users written before the failure.
+* Rejected rows are written to a per-job error file.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Service
+public class UserImportService {
+
+    // Inserts a user unless the id or email is already taken
+    private static final String INSERT_SQL = "INSERT INTO \"user\" (id, email, password, created_at, last_active, is_superuser, authz_version) " +
+            "VALUES (?, ?, ?, ?, ?, false, 0) ON CONFLICT DO NOTHING";
+
+    // Finds which of a set of lower-cased emails are already registered
+    private static final String EXISTING_SQL = "SELECT lower(email) FROM \"user\" WHERE lower(email) = ANY (?)";
+
+    // How long a finished job can still be looked up
+    private static final long JOB_RETENTION_MS = TimeUnit.DAYS.toMillis(1);
+
+    // How many batches are written between progress messages
+    private static final int PROGRESS_INTERVAL = 10;
+
+    // JdbcTemplate used for the existence checks and batch inserts
+    private final JdbcTemplate jdbcTemplate;
+
+    // The encoder used to hash plaintext passwords, outside the login hashing executor
+    private final PasswordEncoder passwordEncoder;
+
+    // The mapper used to parse NDJSON files
+    private final ObjectMapper objectMapper;
+
+    // Publishes the emails of imported users, so caches forget they had no account
+    private final ApplicationEventPublisher eventPublisher;
+
+    // The number of rows in each batch
+    private final int batchSize;
+
+    // The number of threads hashing passwords during an import
+    private final int hashThreads;
+
+    // The directory the error files are written to
+    private final Path errorDirectory;
+
+    // Recent jobs, so their progress and errors can be looked up
+    private final BoundedCache<UUID, ImportJob> jobs = new BoundedCache<>(100);
+
+    // Only one import runs at a time, so imports cannot take every core
+    private final Semaphore running = new Semaphore(1);
+
+    /**
+    * A constructor for the UserImportService class.
+    *
+    * @param jdbcTemplate JdbcTemplate used for the existence checks and batch inserts.
+    * @param passwordEncoder The application password encoder.
+    * @param objectMapper The mapper used to parse NDJSON files.
+    * @param eventPublisher Publishes the emails of imported users.
+    * @param batchSize The number of rows in each batch.
+    * @param hashThreads The number of threads hashing passwords, or 0 for a quarter of the cores.
+    * @param errorDirectory The directory the error files are written to.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public UserImportService(JdbcTemplate jdbcTemplate,
+                             PasswordEncoder passwordEncoder,
+                             ObjectMapper objectMapper,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${import.users.batch_size:1000}") int batchSize,
+                             @Value("${import.users.hash_threads:0}") int hashThreads,
+                             @Value("${import.users.error_dir:${java.io.tmpdir}}") String errorDirectory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder instanceof BoundedPasswordEncoder bounded ? bounded.unbounded() : passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = Math.max(1, batchSize);
+        // The import hashes outside the bounded login executor, so by default it leaves most cores to logins
+        this.hashThreads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+        this.errorDirectory = Path.of(errorDirectory);
+    }
+
+    /**
+    * A method to import users from a CSV or NDJSON stream.
+    * Runs on the caller's thread until the stream is exhausted; the job can be
+    * looked up from other threads while it runs.
+    *
+    * @param in The stream holding the import file.
+    * @param format The format of the file.
+    * @return The finished job.
+    *
+    * @throws ServiceUnavailableException if another import is running.
+    * @throws BadBodyException if the file header is not usable.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public ImportJob importUsers(InputStream in, ImportFormat format) {
+
+        if (!running.tryAcquire()) {
+            throw new ServiceUnavailableException("A user import is already running", 60);
+        }
+
+        UUID id = UUID.randomUUID();
+        ImportJob job = new ImportJob(id, format, errorDirectory.resolve("user-import-" + id + "-errors.csv"));
+
+        jobs.put(id, job, System.currentTimeMillis() + JOB_RETENTION_MS);
+
+        ExecutorService hashPool = newHashPool();
+
+        try (ImportRowReader reader = new ImportRowReader(in, format, objectMapper);
+             BufferedWriter errors = Files.newBufferedWriter(job.getErrorFile())) {
+
+            errors.write("line,email,error\n");
+
+            List<ImportRow> batch = new ArrayList<>(batchSize);
+            long batches = 0;
+            ImportRow row;
+
+            while ((row = reader.next()) != null) {
+                job.getRowsRead().incrementAndGet();
+                batch.add(row);
+
+                if (batch.size() == batchSize) {
+                    writeBatch(batch, job, errors, hashPool);
+                    batch.clear();
+
+                    if (++batches % PROGRESS_INTERVAL == 0) {
+                        printProgress(job);
+                    }
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                writeBatch(batch, job, errors, hashPool);
+            }
+
+            job.finish(null);
+
+        } catch (BadBodyException e) {
+            job.finish(e.getMessage());
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            job.finish(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            hashPool.shutdownNow();
+            running.release();
+        }
+
+        printProgress(job);
+
+        return job;
+    }
+
+    /**
+    * A method to look up an import job.
+    *
+    * @param id The id of the job.
+    * @return The job.
+    *
+    * @throws ResourceNotFoundException if the job is unknown or has expired.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public ImportJob getJob(UUID id) {
+
+        ImportJob job = jobs.get(id);
+
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found: " + id);
+        }
+
+        return job;
+    }
+
+    /**
+    * A method to validate, hash and insert one batch of rows.
+    *
+    * @param rows The rows of the batch.
+    * @param job The job the batch belongs to.
+    * @param errors The writer for rejected rows.
+    * @param hashPool The pool hashing plaintext passwords.
+    *
+    * @throws IOException if the error file cannot be written.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private void writeBatch(List<ImportRow> rows, ImportJob job, Writer errors, ExecutorService hashPool) throws IOException {
+
+        // Validate the rows and drop duplicates within the batch
+        Map<String, ImportRow> valid = new LinkedHashMap<>();
+
+        for (ImportRow row : rows) {
+            String error = validate(row);
+
+            if (error == null && valid.putIfAbsent(row.email().toLowerCase(Locale.ROOT), row) != null) {
+                error = "Duplicate email in the import file";
+            }
+
+            if (error != null) {
+                reject(job, errors, row, error);
+            }
+        }
+
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        // Skip existing accounts before spending any time hashing their passwords
+        for (String email : existingEmails(valid.keySet())) {
+            reject(job, errors, valid.remove(email), "A user with this email already exists");
+        }
+
+        // Hash the plaintext passwords of the batch in parallel
+        List<ImportRow> pending = new ArrayList<>(valid.values());
+        List<Future<String>> hashes = new ArrayList<>(pending.size());
+
+        for (ImportRow row : pending) {
+            hashes.add(PasswordEncoders.isEncoded(row.password())
+                    ? CompletableFuture.completedFuture(row.password())
+                    : hashPool.submit(() -> passwordEncoder.encode(row.password())));
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<ImportRow> inserted = new ArrayList<>(pending.size());
+        List<Object[]> args = new ArrayList<>(pending.size());
+
+        for (int i = 0; i < pending.size(); i++) {
+            ImportRow row = pending.get(i);
+
+            try {
+                args.add(new Object[] { UUID.randomUUID(), row.email(), hashes.get(i).get(), now, now });
+                inserted.add(row);
+            } catch (ExecutionException e) {
+                reject(job, errors, row, "The password could not be hashed");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("The import was interrupted", e);
+            }
+        }
+
+        if (args.isEmpty()) {
+            return;
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_SQL, args);
+        List<String> created = new ArrayList<>(counts.length);
+
+        for (int i = 0; i < counts.length; i++) {
+            // A row skipped by ON CONFLICT was registered after the existence check
+            if (counts[i] == 0) {
+                reject(job, errors, inserted.get(i), "A user with this email already exists");
+            } else {
+                job.getImported().incrementAndGet();
+                created.add(inserted.get(i).email());
+            }
+        }
+
+        if (!created.isEmpty()) {
+            eventPublisher.publishEvent(new UsersCreatedEvent(created));
+        }
+    }
+
+    /**
+    * A method to validate a row the same way a registration is validated.
+    * Passwords that are already encoded cannot be checked against the password policy.
+    *
+    * @param row The row to validate.
+    * @return The validation error, or null if the row is valid.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private String validate(ImportRow row) {
+
+        if (row.error() != null) {
+            return row.error();
+        }
+
+        if (!AuthSuiteUtils.isValidEmail(row.email())) {
+            return "Invalid email format";
+        }
+
+        if (AuthSuiteUtils.isNullOrEmpty(row.password())) {
+            return "Password is required";
+        }
+
+        if (PasswordEncoders.isEncoded(row.password())) {
+            return null;
+        }
+
+        return PasswordUtils.validate(row.password());
+    }
+
+    /**
+    * A method to find which emails are already registered.
+    *
+    * @param emails The lower-cased emails to check.
+    * @return The lower-cased emails that already exist.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private List<String> existingEmails(Collection<String> emails) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(EXISTING_SQL);
+            statement.setArray(1, connection.createArrayOf("varchar", emails.toArray()));
+            return statement;
+        }, (rs, rowNum) -> rs.getString(1));
+    }
+
+    /**
+    * A method to record a rejected row in the error file.
+    *
+    * @param job The job the row belongs to.
+    * @param errors The writer for rejected rows.
+    * @param row The rejected row.
+    * @param error Why the row was rejected.
+    *
+    * @throws IOException if the error file cannot be written.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private void reject(ImportJob job, Writer errors, ImportRow row, String error) throws IOException {
+        job.getRejected().incrementAndGet();
+
+        errors.write(row.line() + "," + AuthSuiteUtils.csvField(row.email()) + "," + AuthSuiteUtils.csvField(error) + "\n");
+    }
+
+    /**
+    * A method to create the pool hashing the passwords of one import.
+    * Its threads run at the lowest priority, so logins are scheduled first where the OS honours it.
+    *
+    * @return The hashing pool.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private ExecutorService newHashPool() {
+
+        AtomicInteger threadCount = new AtomicInteger();
+
+        return Executors.newFixedThreadPool(hashThreads, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-hashing-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+    * A method to print the progress of a job.
+    *
+    * @param job The job to report on.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private static void printProgress(ImportJob job) {
+        System.out.println("User import " + job.getId() + " " + job.getStatus().name().toLowerCase(Locale.ROOT) + ": "
+                + job.getRowsRead().get() + " rows read, " + job.getImported().get() + " imported, "
+                + job.getRejected().get() + " rejected"
+                + (job.getFailure() != null ? " (" + job.getFailure() + ")" : ""));
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.iforddow.authsuite.service;
+
+import com.iforddow.authsuite.dto.UserPageDTO;
+import com.iforddow.authsuite.exception.BadBodyException;
+import com.iforddow.authsuite.repository.UserRepository;
+import com.iforddow.authsuite.repository.UserSearchCursor;
+import com.iforddow.authsuite.repository.projection.UserSummary;
+import com.iforddow.authsuite.request.UserSearchRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+* A service for listing and filtering users page by page.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Service
+@RequiredArgsConstructor
+public class UserSearchService {
+
+    // The page size used when none is requested
+    private static final int DEFAULT_LIMIT = 50;
+
+    // The largest page size a client may request
+    private static final int MAX_LIMIT = 200;
+
+    private final UserRepository userRepository;
+
+    /**
+    * A method to find a page of users.
+    * One extra row is read to find out whether another page follows.
+    *
+    * @param request The filters, page size and cursor of the search.
+    * @return ResponseEntity containing the page and the cursor of the next one.
+    *
+    * @throws BadBodyException if the page size or the cursor is invalid.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public ResponseEntity<UserPageDTO> search(UserSearchRequest request) {
+
+        int limit = request.getLimit() != null ? request.getLimit() : DEFAULT_LIMIT;
+
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadBodyException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        UserSearchCursor after = request.getCursor() != null && !request.getCursor().isEmpty()
+                ? UserSearchCursor.decode(request.getCursor())
+                : null;
+
+        List<UserSummary> users = userRepository.search(request, after, limit + 1);
+
+        String nextCursor = null;
+
+        if (users.size() > limit) {
+            users = users.subList(0, limit);
+            nextCursor = UserSearchCursor.after(users.get(limit - 1)).encode();
+        }
+
+        return ResponseEntity.ok(new UserPageDTO(users, nextCursor));
+    }
+
+}
@@ -0,0 +1,266 @@
+package com.iforddow.authsuite.session;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+* A refresh token store backed by Postgres.
+* The refresh_token table is range-partitioned by expiry into one partition per UTC day.
+* Every token lookup includes the expiry signed into the token, so it is pruned to a
+* single partition and resolved by that partition's primary key. Partitions are created
+* at startup and ahead of time, and dropped once every token in them has expired, so
+* purging old tokens is a partition drop instead of a bulk DELETE. A token whose day has
+* no partition yet lands in the default partition, and moves to the daily partition
+* when it is created.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Component
+@ConditionalOnProperty(name = "session.store", havingValue = "postgres", matchIfMissing = true)
+public class JdbcRefreshTokenStore implements RefreshTokenStore {
+
+    // The prefix of the daily partition names, followed by the day as yyyyMMdd
+    private static final String PARTITION_PREFIX = "refresh_token_p";
+
+    // Matches the name of a daily partition
+    private static final Pattern PARTITION_NAME = Pattern.compile(PARTITION_PREFIX + "(\\d{8})");
+
+    // The format of the day in a partition name
+    private static final DateTimeFormatter PARTITION_DAY = DateTimeFormatter.BASIC_ISO_DATE;
+
+    // The partition holding the tokens whose day has no partition
+    private static final String DEFAULT_PARTITION = "refresh_token_default";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO refresh_token (id, family_id, user_id, created_at, issued_at, expires_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String CONSUME_SQL = """
+            UPDATE refresh_token SET used_at = ?
+            WHERE id = ? AND expires_at = ? AND family_id = ? AND user_id = ?
+              AND used_at IS NULL AND expires_at > ?
+            """;
+
+    private static final String USED_SQL = """
+            SELECT used_at IS NOT NULL FROM refresh_token
+            WHERE id = ? AND expires_at = ? AND family_id = ? AND user_id = ? AND expires_at > ?
+            """;
+
+    private static final String ACTIVE_SQL = """
+            SELECT id, family_id, user_id, created_at, issued_at, expires_at FROM refresh_token
+            WHERE user_id = ? AND used_at IS NULL AND expires_at > ?
+            ORDER BY issued_at DESC
+            """;
+
+    private static final String PARTITIONS_SQL = """
+            SELECT c.relname FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            WHERE p.relname = 'refresh_token'
+            """;
+
+    private static final String HAS_DEFAULT_PARTITION_SQL = """
+            SELECT partdefid <> 0 FROM pg_partitioned_table WHERE partrelid = 'refresh_token'::regclass
+            """;
+
+    // JdbcTemplate for the token statements
+    private final JdbcTemplate jdbcTemplate;
+
+    // Runs the consume-and-insert of a rotation in one transaction
+    private final TransactionTemplate transactionTemplate;
+
+    // The number of days of partitions created ahead, covering the longest token lifetime
+    private final int daysAhead;
+
+    /**
+    * A constructor for the JdbcRefreshTokenStore class.
+    *
+    * @param jdbcTemplate The JdbcTemplate for the token statements.
+    * @param transactionManager The transaction manager used for rotations.
+    * @param refreshExpirationMs The lifetime of a refresh token in milliseconds.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public JdbcRefreshTokenStore(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${jwt.refresh_expiration}") long refreshExpirationMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.daysAhead = (int) (refreshExpirationMs / 86_400_000L) + 2;
+    }
+
+    @Override
+    public void save(RefreshSession session) {
+        insert(session);
+    }
+
+    @Override
+    public RotationResult rotate(RefreshSession presented, RefreshSession next) {
+        Timestamp now = Timestamp.from(next.issuedAt());
+
+        return transactionTemplate.execute(status -> {
+            int consumed = jdbcTemplate.update(CONSUME_SQL, now, presented.id(), Timestamp.from(presented.expiresAt()),
+                    presented.familyId(), presented.userId(), now);
+
+            if (consumed == 1) {
+                insert(next);
+                return RotationResult.ROTATED;
+            }
+
+            // The row is locked by the update above, so a concurrent rotation has committed by now
+            List<Boolean> used = jdbcTemplate.queryForList(USED_SQL, Boolean.class, presented.id(),
+                    Timestamp.from(presented.expiresAt()), presented.familyId(), presented.userId(), now);
+
+            if (!used.isEmpty() && Boolean.TRUE.equals(used.get(0))) {
+                jdbcTemplate.update("DELETE FROM refresh_token WHERE family_id = ?", presented.familyId());
+                return RotationResult.REUSED;
+            }
+
+            return RotationResult.INVALID;
+        });
+    }
+
+    @Override
+    public boolean revokeFamily(UUID familyId, UUID userId) {
+        return jdbcTemplate.update("DELETE FROM refresh_token WHERE family_id = ? AND user_id = ?", familyId, userId) > 0;
+    }
+
+    @Override
+    public List<RefreshSession> findActiveByUser(UUID userId) {
+        return jdbcTemplate.query(ACTIVE_SQL, (rs, rowNum) -> new RefreshSession(
+                rs.getObject("id", UUID.class),
+                rs.getObject("family_id", UUID.class),
+                rs.getObject("user_id", UUID.class),
+                rs.getTimestamp("created_at").toInstant(),
+                rs.getTimestamp("issued_at").toInstant(),
+                rs.getTimestamp("expires_at").toInstant()), userId, Timestamp.from(Instant.now()));
+    }
+
+    /**
+    * A method to create the partitions for the coming days and drop the expired ones.
+    * It runs once the store is created, before any token is issued, and periodically afterwards.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${session.maintenance.interval_ms:3600000}",
+            initialDelayString = "${session.maintenance.interval_ms:3600000}")
+    public void maintainPartitions() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        Set<String> partitions = new HashSet<>(jdbcTemplate.queryForList(PARTITIONS_SQL, String.class));
+
+        for (int day = 0; day <= daysAhead; day++) {
+            LocalDate from = today.plusDays(day);
+
+            if (!partitions.contains(partitionName(from))) {
+                createPartition(from);
+            }
+        }
+
+        purgeExpired();
+    }
+
+    /**
+    * A method to drop the partitions whose day has passed; every token in them has expired.
+    * A partition is detached before it is dropped; the detach runs concurrently when the
+    * table has no default partition, so token lookups are not blocked while it waits.
+    * Expired tokens left in the default partition are deleted.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @Override
+    public void purgeExpired() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        boolean hasDefault = Boolean.TRUE.equals(jdbcTemplate.queryForObject(HAS_DEFAULT_PARTITION_SQL, Boolean.class));
+
+        for (String partition : jdbcTemplate.queryForList(PARTITIONS_SQL, String.class)) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+
+            if (matcher.matches() && LocalDate.parse(matcher.group(1), PARTITION_DAY).isBefore(today)) {
+                // Postgres refuses a concurrent detach, which must also run outside a transaction, next to a default partition
+                jdbcTemplate.execute("ALTER TABLE refresh_token DETACH PARTITION " + partition
+                        + (hasDefault ? "" : " CONCURRENTLY"));
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+            }
+        }
+
+        if (hasDefault) {
+            jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE expires_at <= ?", Timestamp.from(Instant.now()));
+        }
+    }
+
+    /**
+    * A method to create the partition of a day.
+    * Tokens of that day already in the default partition are moved into the new partition
+    * before it is attached, since Postgres refuses a partition overlapping rows of the default
+    * one. The default partition stays locked meanwhile, which also keeps other instances from
+    * creating the same partition.
+    *
+    * @param from The day of the partition.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private void createPartition(LocalDate from) {
+        String partition = partitionName(from);
+        Timestamp start = Timestamp.from(from.atStartOfDay(ZoneOffset.UTC).toInstant());
+        Timestamp end = Timestamp.from(from.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("LOCK TABLE " + DEFAULT_PARTITION + " IN SHARE ROW EXCLUSIVE MODE");
+
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition))) {
+                return;
+            }
+
+            jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE refresh_token INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            jdbcTemplate.update("INSERT INTO " + partition + " SELECT * FROM " + DEFAULT_PARTITION
+                    + " WHERE expires_at >= ? AND expires_at < ?", start, end);
+            jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE expires_at >= ? AND expires_at < ?", start, end);
+            jdbcTemplate.execute("ALTER TABLE refresh_token ATTACH PARTITION " + partition
+                    + " FOR VALUES FROM ('" + from + " 00:00:00+00') TO ('" + from.plusDays(1) + " 00:00:00+00')");
+        });
+    }
+
+    private static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + PARTITION_DAY.format(day);
+    }
+
+    /**
+    * A method to insert a token.
+    *
+    * @param session The token to insert.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private void insert(RefreshSession session) {
+        jdbcTemplate.update(INSERT_SQL, session.id(), session.familyId(), session.userId(),
+                Timestamp.from(session.createdAt()), Timestamp.from(session.issuedAt()),
+                Timestamp.from(session.expiresAt()));
+    }
+
+}
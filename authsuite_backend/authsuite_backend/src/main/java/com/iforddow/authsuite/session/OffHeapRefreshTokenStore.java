@@ -0,0 +1,384 @@
+package com.iforddow.authsuite.session;
+
+import com.iforddow.authsuite.exception.ServiceUnavailableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntPredicate;
+
+/**
+* An in-process refresh token store for single-node deployments.
+* Tokens are kept outside the Java heap in one direct buffer of fixed-size records,
+* laid out as an open-addressing hash table keyed by the family id. A lookup hashes
+* the id to a slot and probes forward, so rotating a token costs neither an object
+* allocation nor garbage-collector work, however many sessions are live.
+* Each session holds a single record with its current token: a rotation overwrites
+* the consumed token with its successor, so the table grows with the sessions, not
+* with the refreshes. A token is signed with its family id, so a token of a live
+* family that is not the current one can only be a consumed token presented again.
+* Removal shifts the following records back instead of leaving tombstones.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Component
+@ConditionalOnProperty(name = "session.store", havingValue = "memory")
+public class OffHeapRefreshTokenStore implements RefreshTokenStore {
+
+    // The offsets of the fields within a record; a zero family id marks an empty slot
+    private static final int FAMILY_ID = 0;
+    private static final int TOKEN_ID = 16;
+    private static final int USER_ID = 32;
+    private static final int CREATED_AT = 48;
+    private static final int ISSUED_AT = 56;
+    private static final int EXPIRES_AT = 64;
+
+    // The size of a record in bytes
+    static final int RECORD_SIZE = 72;
+
+    // The largest share of slots that may be occupied, keeping probe sequences short
+    private static final double MAX_LOAD = 0.75;
+
+    // The records, outside the Java heap
+    private final ByteBuffer table;
+
+    // The number of slots minus one; the number of slots is a power of two
+    private final int mask;
+
+    // The largest number of sessions held at once
+    private final int maxSize;
+
+    // The number of sessions held
+    private int size;
+
+    // Guards the table; a rotation holds it for a few probes only
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+    * A constructor for the OffHeapRefreshTokenStore class.
+    *
+    * @param capacity The largest number of sessions held at once.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public OffHeapRefreshTokenStore(@Value("${session.memory.capacity:131072}") int capacity) {
+        long slots = Long.highestOneBit(Math.max(16, (long) Math.ceil(capacity / MAX_LOAD)) - 1) << 1;
+
+        if (slots * RECORD_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The session store capacity is too large for a single buffer");
+        }
+
+        this.table = ByteBuffer.allocateDirect((int) slots * RECORD_SIZE);
+        this.mask = (int) slots - 1;
+        this.maxSize = (int) (slots * MAX_LOAD);
+    }
+
+    @Override
+    public void save(RefreshSession session) {
+        lock.lock();
+        try {
+            ensureCapacity(session.issuedAt().toEpochMilli());
+            insert(session);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public RotationResult rotate(RefreshSession presented, RefreshSession next) {
+        long now = next.issuedAt().toEpochMilli();
+
+        lock.lock();
+        try {
+            int slot = find(presented.familyId());
+
+            if (slot < 0 || table.getLong(slot + EXPIRES_AT) <= now
+                    || !matches(slot + USER_ID, presented.userId())) {
+                return RotationResult.INVALID;
+            }
+
+            if (!matches(slot + TOKEN_ID, presented.id())) {
+                remove(slot / RECORD_SIZE);
+                return RotationResult.REUSED;
+            }
+
+            putUuid(slot + TOKEN_ID, next.id());
+            table.putLong(slot + ISSUED_AT, next.issuedAt().toEpochMilli());
+            table.putLong(slot + EXPIRES_AT, next.expiresAt().toEpochMilli());
+
+            return RotationResult.ROTATED;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean revokeFamily(UUID familyId, UUID userId) {
+        lock.lock();
+        try {
+            int slot = find(familyId);
+
+            if (slot < 0 || !matches(slot + USER_ID, userId)) {
+                return false;
+            }
+
+            remove(slot / RECORD_SIZE);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<RefreshSession> findActiveByUser(UUID userId) {
+        long now = System.currentTimeMillis();
+        List<RefreshSession> sessions = new ArrayList<>();
+
+        lock.lock();
+        try {
+            for (int slot = 0; slot <= mask * RECORD_SIZE; slot += RECORD_SIZE) {
+                if (occupied(slot) && table.getLong(slot + EXPIRES_AT) > now && matches(slot + USER_ID, userId)) {
+                    sessions.add(read(slot));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        return sessions;
+    }
+
+    /**
+    * A method to remove the expired tokens periodically.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @Override
+    @Scheduled(fixedDelayString = "${session.maintenance.interval_ms:3600000}")
+    public void purgeExpired() {
+        lock.lock();
+        try {
+            purge(System.currentTimeMillis());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+    * A method to get the number of sessions held, expired ones included until they are purged.
+    *
+    * @return The number of sessions.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+    * A method to make room for one more record, purging expired records if the table is full.
+    *
+    * @param now The current time in milliseconds.
+    *
+    * @throws ServiceUnavailableException if the table is full of live sessions.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private void ensureCapacity(long now) {
+        if (size >= maxSize) {
+            purge(now);
+        }
+
+        if (size >= maxSize) {
+            throw new ServiceUnavailableException("The session store is full", 60);
+        }
+    }
+
+    /**
+    * A method to remove the records that expired before the given time.
+    *
+    * @param now The current time in milliseconds.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private void purge(long now) {
+        removeWhere(slot -> table.getLong(slot + EXPIRES_AT) <= now);
+    }
+
+    /**
+    * A method to find the slot holding a session.
+    *
+    * @param id The family id of the session.
+    * @return The byte offset of the record, or -1 if the session is not held.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private int find(UUID id) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+
+        for (int index = home(msb, lsb); ; index = (index + 1) & mask) {
+            int slot = index * RECORD_SIZE;
+
+            if (!occupied(slot)) {
+                return -1;
+            }
+
+            if (table.getLong(slot + FAMILY_ID) == msb && table.getLong(slot + FAMILY_ID + 8) == lsb) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+    * A method to write a record into the first free slot of its probe sequence.
+    *
+    * @param session The token to write.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private void insert(RefreshSession session) {
+        long msb = session.familyId().getMostSignificantBits();
+        long lsb = session.familyId().getLeastSignificantBits();
+
+        int index = home(msb, lsb);
+
+        while (occupied(index * RECORD_SIZE)) {
+            index = (index + 1) & mask;
+        }
+
+        int slot = index * RECORD_SIZE;
+
+        putUuid(slot + FAMILY_ID, session.familyId());
+        putUuid(slot + TOKEN_ID, session.id());
+        putUuid(slot + USER_ID, session.userId());
+        table.putLong(slot + CREATED_AT, session.createdAt().toEpochMilli());
+        table.putLong(slot + ISSUED_AT, session.issuedAt().toEpochMilli());
+        table.putLong(slot + EXPIRES_AT, session.expiresAt().toEpochMilli());
+
+        size++;
+    }
+
+    /**
+    * A method to remove every record matching a condition in one pass over the table.
+    * A slot is examined again after a removal, since the shift may have moved a record into it.
+    *
+    * @param condition Tests the byte offset of a record.
+    * @return The number of records removed.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private int removeWhere(IntPredicate condition) {
+        int removed = 0;
+
+        for (int index = 0; index <= mask; index++) {
+            while (occupied(index * RECORD_SIZE) && condition.test(index * RECORD_SIZE)) {
+                remove(index);
+                removed++;
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+    * A method to remove a record, shifting back the records that probed past it so
+    * every record stays reachable from its home slot without tombstones.
+    *
+    * @param index The slot index of the record.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private void remove(int index) {
+        int hole = index;
+
+        for (int next = (hole + 1) & mask; occupied(next * RECORD_SIZE); next = (next + 1) & mask) {
+            int slot = next * RECORD_SIZE;
+            int home = home(table.getLong(slot + FAMILY_ID), table.getLong(slot + FAMILY_ID + 8));
+
+            // The record may move into the hole unless its home lies cyclically between the hole and itself
+            boolean movable = hole <= next
+                    ? home <= hole || home > next
+                    : home <= hole && home > next;
+
+            if (movable) {
+                table.put(hole * RECORD_SIZE, table, slot, RECORD_SIZE);
+                hole = next;
+            }
+        }
+
+        int slot = hole * RECORD_SIZE;
+
+        for (int offset = 0; offset < RECORD_SIZE; offset += 8) {
+            table.putLong(slot + offset, 0);
+        }
+
+        size--;
+    }
+
+    /**
+    * A method to get the home slot index of a family id.
+    *
+    * @param msb The most significant bits of the id.
+    * @param lsb The least significant bits of the id.
+    * @return The slot index the probe sequence starts at.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private int home(long msb, long lsb) {
+        long hash = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private boolean occupied(int slot) {
+        return table.getLong(slot + FAMILY_ID) != 0 || table.getLong(slot + FAMILY_ID + 8) != 0;
+    }
+
+    private boolean matches(int offset, UUID id) {
+        return table.getLong(offset) == id.getMostSignificantBits()
+                && table.getLong(offset + 8) == id.getLeastSignificantBits();
+    }
+
+    private void putUuid(int offset, UUID id) {
+        table.putLong(offset, id.getMostSignificantBits());
+        table.putLong(offset + 8, id.getLeastSignificantBits());
+    }
+
+    private UUID getUuid(int offset) {
+        return new UUID(table.getLong(offset), table.getLong(offset + 8));
+    }
+
+    private RefreshSession read(int slot) {
+        return new RefreshSession(
+                getUuid(slot + TOKEN_ID),
+                getUuid(slot + FAMILY_ID),
+                getUuid(slot + USER_ID),
+                Instant.ofEpochMilli(table.getLong(slot + CREATED_AT)),
+                Instant.ofEpochMilli(table.getLong(slot + ISSUED_AT)),
+                Instant.ofEpochMilli(table.getLong(slot + EXPIRES_AT)));
+    }
+
+}
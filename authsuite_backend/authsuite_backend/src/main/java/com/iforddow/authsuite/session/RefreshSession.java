@@ -0,0 +1,64 @@
+package com.iforddow.authsuite.session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+* A single refresh token of a session.
+* Every refresh replaces the token with a successor in the same family, so the
+* family id identifies the session across rotations. Instants are kept to the
+* second, the precision of the JWT timestamps they are signed into.
+*
+* @param id The id of the token, written to the jti claim.
+* @param familyId The id of the session the token belongs to.
+* @param userId The id of the user the session belongs to.
+* @param createdAt The instant the user signed in and the session started.
+* @param issuedAt The instant the token was issued.
+* @param expiresAt The instant the token expires.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public record RefreshSession(
+        UUID id,
+        UUID familyId,
+        UUID userId,
+        Instant createdAt,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+
+    /**
+    * A method to start a new session with its first token.
+    *
+    * @param userId The id of the user signing in.
+    * @param now The current instant.
+    * @param lifetime The lifetime of a refresh token.
+    * @return The first token of the session.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static RefreshSession start(UUID userId, Instant now, Duration lifetime) {
+        Instant issuedAt = now.truncatedTo(ChronoUnit.SECONDS);
+        return new RefreshSession(UUID.randomUUID(), UUID.randomUUID(), userId, issuedAt, issuedAt, issuedAt.plus(lifetime));
+    }
+
+    /**
+    * A method to create the token replacing this one on a refresh.
+    *
+    * @param now The current instant.
+    * @param lifetime The lifetime of a refresh token.
+    * @return The successor token in the same session.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public RefreshSession next(Instant now, Duration lifetime) {
+        Instant issuedAt = now.truncatedTo(ChronoUnit.SECONDS);
+        return new RefreshSession(UUID.randomUUID(), familyId, userId, createdAt, issuedAt, issuedAt.plus(lifetime));
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.iforddow.authsuite.session;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+* A server-side store of refresh tokens.
+* Each token is single-use: rotating it consumes it and stores its successor,
+* and presenting a used token again revokes the whole session, since only a
+* stolen copy can be replayed after the legitimate client has rotated it.
+* Looking up a token by its id is a single keyed lookup in every implementation.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public interface RefreshTokenStore {
+
+    /**
+    * A method to store the first token of a new session.
+    *
+    * @param session The token to store.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    void save(RefreshSession session);
+
+    /**
+    * A method to consume a token and store its successor in one step.
+    *
+    * @param presented The token presented by the client, as read from its claims.
+    * @param next The successor of the token.
+    * @return ROTATED if the successor was stored, REUSED if the token had already been
+    *         used and the session was revoked, or INVALID if the token is not live.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    RotationResult rotate(RefreshSession presented, RefreshSession next);
+
+    /**
+    * A method to revoke every token of a session.
+    *
+    * @param familyId The id of the session.
+    * @param userId The id of the user the session must belong to.
+    * @return true if a session was revoked.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    boolean revokeFamily(UUID familyId, UUID userId);
+
+    /**
+    * A method to list the live sessions of a user.
+    *
+    * @param userId The id of the user.
+    * @return The current, unused token of each live session.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    List<RefreshSession> findActiveByUser(UUID userId);
+
+    /**
+    * A method to remove the tokens that have expired.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    void purgeExpired();
+
+}
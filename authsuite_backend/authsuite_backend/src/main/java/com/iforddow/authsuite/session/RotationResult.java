@@ -0,0 +1,20 @@
+package com.iforddow.authsuite.session;
+
+/**
+* The outcome of presenting a refresh token for rotation.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public enum RotationResult {
+
+    // The token was consumed and its successor stored
+    ROTATED,
+
+    // The token had already been used; the whole session was revoked
+    REUSED,
+
+    // The token is unknown, expired or belongs to a revoked session
+    INVALID
+
+}
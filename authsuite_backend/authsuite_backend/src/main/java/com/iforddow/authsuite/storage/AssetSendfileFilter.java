@@ -0,0 +1,90 @@
+package com.iforddow.authsuite.storage;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+* Serves full downloads of stored assets with the container's sendfile support.
+* The file is handed to the connector, which copies it to the socket without it
+* passing through the JVM heap. Conditional requests, range requests and
+* containers without sendfile fall through to the resource handler in WebConfig,
+* which sends the same headers.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Component
+@RequiredArgsConstructor
+public class AssetSendfileFilter extends OncePerRequestFilter {
+
+    // Request attributes of Tomcat's sendfile support
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // The store holding the assets
+    private final AssetStore assetStore;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod())
+                || !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))
+                || request.getHeader(HttpHeaders.RANGE) != null
+                || request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null
+                || !pathOf(request).startsWith(AssetStore.URL_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        String name = pathOf(request).substring(AssetStore.URL_PREFIX.length());
+        Path file = assetStore.resolve(name);
+
+        if (file == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long length = Files.size(file);
+
+        response.setContentType(MediaTypeFactory.getMediaType(name).orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(length);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, AssetStore.CACHE_CONTROL.getHeaderValue());
+        response.setHeader(HttpHeaders.ETAG, AssetStore.etag(name));
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, Files.getLastModifiedTime(file).toMillis());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        request.setAttribute(SENDFILE_FILENAME, file.toString());
+        request.setAttribute(SENDFILE_START, 0L);
+        request.setAttribute(SENDFILE_END, length);
+    }
+
+    /**
+    * A method to get the request path without the context path.
+    *
+    * @param request The request.
+    * @return The path of the request within the application.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+}
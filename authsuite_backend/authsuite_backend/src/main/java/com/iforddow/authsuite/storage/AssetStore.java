@@ -0,0 +1,314 @@
+package com.iforddow.authsuite.storage;
+
+import com.iforddow.authsuite.exception.InvalidFileException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+* A content-addressed store for uploaded assets such as logos and favicons.
+* Each file is named by the SHA-256 of its content, so identical uploads are stored
+* once and a URL always refers to the same bytes. That makes the files safe to cache
+* forever: a changed logo gets a new URL instead of overwriting the old file.
+* Files no longer referenced by the theme are deleted after a grace period.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Component
+public class AssetStore {
+
+    // The URL prefix the assets are served under
+    public static final String URL_PREFIX = "/uploads/assets/";
+
+    // Assets never change, so they can be cached for a year without revalidation
+    public static final CacheControl CACHE_CONTROL = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+    // The name of a stored asset: the hex SHA-256 of its content and an extension
+    private static final Pattern ASSET_NAME = Pattern.compile("^[0-9a-f]{64}\\.[a-z0-9]{1,5}$");
+
+    // An asset URL inside a column value, including the URLs inside the variant maps
+    private static final Pattern ASSET_URL = Pattern.compile(Pattern.quote(URL_PREFIX) + "([0-9a-f]{64}\\.[a-z0-9]{1,5})");
+
+    // The theme columns that may reference an asset
+    private static final String REFERENCES_SQL = "SELECT logo_url, favicon_url, CAST(logo_variants AS text) AS logo_variants, " +
+            "CAST(favicon_variants AS text) AS favicon_variants FROM theme_settings";
+
+    // The directory the assets are stored in
+    private final Path directory;
+
+    // JdbcTemplate used to find the referenced assets
+    private final JdbcTemplate jdbcTemplate;
+
+    // How long an unreferenced asset is kept, so cached pages and in-flight updates keep working
+    private final long gracePeriodMs;
+
+    /**
+    * A constructor for the AssetStore class.
+    *
+    * @param directory The directory the assets are stored in.
+    * @param jdbcTemplate JdbcTemplate used to find the referenced assets.
+    * @param gracePeriodMs How long an unreferenced asset is kept, in milliseconds.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public AssetStore(@Value("${assets.dir:/opt/authsuite/uploads/assets}") String directory,
+                      JdbcTemplate jdbcTemplate,
+                      @Value("${assets.gc.grace_ms:86400000}") long gracePeriodMs) {
+        this.directory = Path.of(directory).toAbsolutePath().normalize();
+        this.jdbcTemplate = jdbcTemplate;
+        this.gracePeriodMs = gracePeriodMs;
+    }
+
+    /**
+    * A method to store an uploaded image as it is.
+    * The format is recognised from the magic bytes of the content; the content
+    * type and the file name sent by the client are ignored.
+    *
+    * @param file The uploaded file.
+    * @return The stored image.
+    *
+    * @throws InvalidFileException if the file is empty or not a supported image.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public StoredImage storeImage(MultipartFile file) {
+
+        if (file == null || file.isEmpty()) {
+            throw new InvalidFileException("File is empty or not provided. Please upload a valid image.");
+        }
+
+        try (InputStream in = new BufferedInputStream(file.getInputStream())) {
+            in.mark(ImageType.HEADER_LENGTH);
+            ImageType type = ImageType.detect(in);
+            in.reset();
+
+            return new StoredImage(store(in, type.extension()), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store the uploaded image", e);
+        }
+    }
+
+    /**
+    * A method to store generated content under its content address.
+    *
+    * @param content The content to store.
+    * @param extension The file extension, without the dot.
+    * @return The URL the content is served under.
+    *
+    * @throws IOException if the content cannot be written.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public String store(byte[] content, String extension) throws IOException {
+        return store(new ByteArrayInputStream(content), extension);
+    }
+
+    /**
+    * A method to store content under its content address.
+    * The content is streamed to a temporary file while it is hashed, then moved
+    * into place atomically. If the same content is already stored, the temporary
+    * file is dropped and the existing asset is reused.
+    *
+    * @param in The content to store.
+    * @param extension The file extension, without the dot.
+    * @return The URL the content is served under.
+    *
+    * @throws IOException if the content cannot be written.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public String store(InputStream in, String extension) throws IOException {
+
+        Files.createDirectories(directory);
+
+        Path temp = Files.createTempFile(directory, "upload-", ".tmp");
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+            try (DigestInputStream hashing = new DigestInputStream(in, digest)) {
+                Files.copy(hashing, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            String name = HexFormat.of().formatHex(digest.digest()) + "." + extension;
+            Path target = directory.resolve(name);
+
+            if (Files.exists(target)) {
+                // Already stored; refresh the timestamp so the collector treats it as new
+                Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+            } else {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+
+            return URL_PREFIX + name;
+
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+    * A method to find the file of a stored asset.
+    *
+    * @param name The name of the asset, as it appears in its URL.
+    * @return The file, or null if the name is not an asset name or the asset does not exist.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public Path resolve(String name) {
+
+        if (!ASSET_NAME.matcher(name).matches()) {
+            return null;
+        }
+
+        Path file = directory.resolve(name);
+
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    /**
+    * A method to find the file of a stored asset from its URL.
+    *
+    * @param url The URL of the asset.
+    * @return The file, or null if the URL does not point to an existing asset.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public Path resolveUrl(String url) {
+        return url != null && url.startsWith(URL_PREFIX) ? resolve(url.substring(URL_PREFIX.length())) : null;
+    }
+
+    /**
+    * A method to get the strong entity tag of an asset.
+    * The content hash is part of the name, so the tag needs no I/O.
+    *
+    * @param name The name of the asset.
+    * @return The entity tag, quoted.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static String etag(String name) {
+        int dot = name.indexOf('.');
+        return "\"" + (dot > 0 ? name.substring(0, dot) : name) + "\"";
+    }
+
+    /**
+    * A method to get the directory the assets are stored in.
+    *
+    * @return The asset directory.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+    * A method to delete the assets that are no longer referenced.
+    * Assets younger than the grace period are kept, which covers uploads whose
+    * theme update has not been saved yet and pages still showing an old logo.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @Scheduled(fixedDelayString = "${assets.gc.interval_ms:3600000}", initialDelayString = "${assets.gc.interval_ms:3600000}")
+    public void collectGarbage() {
+
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        Set<String> referenced = referencedAssets();
+        long cutoff = System.currentTimeMillis() - gracePeriodMs;
+        int deleted = 0;
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+
+                boolean orphan = ASSET_NAME.matcher(name).matches() && !referenced.contains(name);
+                boolean staleUpload = name.startsWith("upload-") && name.endsWith(".tmp");
+
+                if ((orphan || staleUpload) && Files.getLastModifiedTime(file).toMillis() < cutoff) {
+                    Files.deleteIfExists(file);
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Asset garbage collection failed: " + e.getMessage());
+            return;
+        }
+
+        if (deleted > 0) {
+            System.out.println("Deleted " + deleted + " unreferenced assets");
+        }
+    }
+
+    /**
+    * A method to find the names of the assets referenced by the theme settings.
+    *
+    * @return The referenced asset names.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private Set<String> referencedAssets() {
+
+        Set<String> names = new HashSet<>();
+
+        jdbcTemplate.query(REFERENCES_SQL, rs -> {
+            addReferences(names, rs.getString("logo_url"));
+            addReferences(names, rs.getString("favicon_url"));
+            addReferences(names, rs.getString("logo_variants"));
+            addReferences(names, rs.getString("favicon_variants"));
+        });
+
+        return names;
+    }
+
+    /**
+    * A method to add the assets named in a column value to a set of references.
+    *
+    * @param names The set of referenced asset names.
+    * @param value The column value to inspect, may be null.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private static void addReferences(Set<String> names, String value) {
+        if (value != null) {
+            ASSET_URL.matcher(value).results().forEach(match -> names.add(match.group(1)));
+        }
+    }
+
+}
@@ -0,0 +1,401 @@
+package com.iforddow.authsuite.storage;
+
+import com.iforddow.authsuite.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+* A background pipeline producing the variants of uploaded logos and favicons.
+* Logos are downscaled to a set of responsive widths, favicons are squared and
+* rendered at the usual icon sizes plus a favicon.ico. The work runs on a small
+* dedicated pool behind a bounded queue, never on request threads. Images are only
+* decoded after their dimensions have been checked, so an oversized upload cannot
+* exhaust the heap. Formats the JDK cannot decode, such as WebP and ICO, are served
+* as uploaded.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Component
+public class ImageProcessor {
+
+    // The icon sizes bundled into the favicon.ico
+    private static final int MAX_ICO_SIZE = 48;
+
+    // The store the variants are written to
+    private final AssetStore assetStore;
+
+    // The widths logos are downscaled to
+    private final List<Integer> logoWidths;
+
+    // The sizes favicons are rendered at
+    private final List<Integer> faviconSizes;
+
+    // The largest number of pixels an upload may have to be decoded
+    private final long maxPixels;
+
+    // The pool running the processing
+    private final ThreadPoolExecutor executor;
+
+    /**
+    * A constructor for the ImageProcessor class.
+    *
+    * @param assetStore The store the variants are written to.
+    * @param logoWidths The widths logos are downscaled to, comma separated.
+    * @param faviconSizes The sizes favicons are rendered at, comma separated.
+    * @param maxPixels The largest number of pixels an upload may have to be decoded.
+    * @param threads The number of processing threads.
+    * @param queueCapacity The maximum number of uploads waiting to be processed.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public ImageProcessor(AssetStore assetStore,
+                          @Value("${images.logo.widths:128,256,512}") List<Integer> logoWidths,
+                          @Value("${images.favicon.sizes:16,32,48,180,192,512}") List<Integer> faviconSizes,
+                          @Value("${images.max_pixels:40000000}") long maxPixels,
+                          @Value("${images.processing.threads:1}") int threads,
+                          @Value("${images.processing.queue_capacity:16}") int queueCapacity) {
+        this.assetStore = assetStore;
+        this.logoWidths = logoWidths.stream().sorted().toList();
+        this.faviconSizes = faviconSizes.stream().sorted().toList();
+        this.maxPixels = maxPixels;
+
+        AtomicInteger threadCount = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(
+                Math.max(1, threads), Math.max(1, threads),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-processing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+    * A method to produce the responsive sizes of a logo in the background.
+    * The default URL is the largest size, or the upload itself if it is smaller than every size.
+    *
+    * @param original The stored upload.
+    * @return A future completed with the variants, or with the upload alone if it cannot be processed.
+    *
+    * @throws ServiceUnavailableException if too many uploads are waiting.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public CompletableFuture<ImageVariants> processLogo(StoredImage original) {
+        return submit(original, () -> {
+            BufferedImage image = decode(original);
+            boolean jpeg = original.type() == ImageType.JPEG;
+
+            Map<String, String> variants = new LinkedHashMap<>();
+            String url = original.url();
+
+            for (int width : logoWidths) {
+                if (width >= image.getWidth()) {
+                    break;
+                }
+
+                int height = Math.max(1, Math.round((float) image.getHeight() * width / image.getWidth()));
+
+                url = assetStore.store(encode(scale(image, width, height), jpeg ? "jpg" : "png"), jpeg ? "jpg" : "png");
+                variants.put(String.valueOf(width), url);
+            }
+
+            return new ImageVariants(url, variants);
+        });
+    }
+
+    /**
+    * A method to produce the favicon set of an image in the background.
+    * The image is centered on a transparent square and rendered at every configured
+    * size as PNG; the sizes up to 48 pixels are also bundled into a favicon.ico,
+    * which becomes the default URL.
+    *
+    * @param original The stored upload.
+    * @return A future completed with the variants, or with the upload alone if it cannot be processed.
+    *
+    * @throws ServiceUnavailableException if too many uploads are waiting.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public CompletableFuture<ImageVariants> processFavicon(StoredImage original) {
+        return submit(original, () -> {
+            BufferedImage square = squared(decode(original));
+
+            Map<String, String> variants = new LinkedHashMap<>();
+            List<byte[]> icoEntries = new ArrayList<>();
+            List<Integer> icoSizes = new ArrayList<>();
+
+            for (int size : faviconSizes) {
+                byte[] png = encode(scale(square, size, size), "png");
+                variants.put(String.valueOf(size), assetStore.store(png, "png"));
+
+                if (size <= MAX_ICO_SIZE) {
+                    icoEntries.add(png);
+                    icoSizes.add(size);
+                }
+            }
+
+            if (icoEntries.isEmpty()) {
+                return new ImageVariants(variants.values().iterator().next(), variants);
+            }
+
+            String ico = assetStore.store(ico(icoEntries, icoSizes), "ico");
+            variants.put("ico", ico);
+
+            return new ImageVariants(ico, variants);
+        });
+    }
+
+    /**
+    * A method to stop the processing threads when the application shuts down.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // The work of processing one upload
+    private interface Task {
+        ImageVariants run() throws IOException;
+    }
+
+    /**
+    * A method to run a processing task in the background.
+    * Uploads that cannot be decoded or processed fall back to the upload itself.
+    *
+    * @param original The stored upload.
+    * @param task The processing work.
+    * @return A future completed with the result.
+    *
+    * @throws ServiceUnavailableException if too many uploads are waiting.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private CompletableFuture<ImageVariants> submit(StoredImage original, Task task) {
+
+        if (!original.type().decodable()) {
+            return CompletableFuture.completedFuture(ImageVariants.unprocessed(original));
+        }
+
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.run();
+                } catch (Exception e) {
+                    System.out.println("Image processing failed for " + original.url() + ", serving it as uploaded: " + e.getMessage());
+                    return ImageVariants.unprocessed(original);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Too many images are being processed, please retry", 30);
+        }
+    }
+
+    /**
+    * A method to decode a stored upload after checking its dimensions.
+    *
+    * @param original The stored upload.
+    * @return The decoded image.
+    *
+    * @throws IOException if the image is missing, unreadable or too large.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private BufferedImage decode(StoredImage original) throws IOException {
+
+        Path file = assetStore.resolveUrl(original.url());
+
+        if (file == null) {
+            throw new IOException("The uploaded image is missing");
+        }
+
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+
+            if (!readers.hasNext()) {
+                throw new IOException("No decoder for the uploaded image");
+            }
+
+            ImageReader reader = readers.next();
+
+            try {
+                reader.setInput(in, true, true);
+
+                // Read the header only, before committing memory to the pixels
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+
+                if (pixels > maxPixels) {
+                    throw new IOException("The image has " + pixels + " pixels, more than the limit of " + maxPixels);
+                }
+
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+    * A method to resize an image with good quality.
+    * Large reductions are done in halving steps, which bicubic interpolation alone would alias.
+    *
+    * @param source The image to resize.
+    * @param width The target width.
+    * @param height The target height.
+    * @return The resized image.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    static BufferedImage scale(BufferedImage source, int width, int height) {
+
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+
+        do {
+            currentWidth = currentWidth / 2 >= width ? currentWidth / 2 : width;
+            currentHeight = currentHeight / 2 >= height ? currentHeight / 2 : height;
+
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D graphics = next.createGraphics();
+
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+
+        return current;
+    }
+
+    /**
+    * A method to center an image on a transparent square canvas.
+    *
+    * @param source The image to square.
+    * @return The squared image.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private static BufferedImage squared(BufferedImage source) {
+
+        int side = Math.max(source.getWidth(), source.getHeight());
+        BufferedImage square = new BufferedImage(side, side, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = square.createGraphics();
+
+        try {
+            graphics.drawImage(source, (side - source.getWidth()) / 2, (side - source.getHeight()) / 2, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        return square;
+    }
+
+    /**
+    * A method to encode an image.
+    *
+    * @param image The image to encode.
+    * @param format The ImageIO format name, png or jpg.
+    * @return The encoded image.
+    *
+    * @throws IOException if the image cannot be encoded.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        if (!ImageIO.write(image, format, out)) {
+            throw new IOException("No encoder for " + format);
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+    * A method to bundle PNG images into an ICO file.
+    * Every browser in use accepts PNG-compressed ICO entries.
+    *
+    * @param pngs The PNG images.
+    * @param sizes The size of each image, in pixels.
+    * @return The ICO file.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    static byte[] ico(List<byte[]> pngs, List<Integer> sizes) {
+
+        int headerLength = 6 + 16 * pngs.size();
+        int length = headerLength + pngs.stream().mapToInt(png -> png.length).sum();
+
+        ByteBuffer ico = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+
+        ico.putShort((short) 0); // reserved
+        ico.putShort((short) 1); // type: icon
+        ico.putShort((short) pngs.size());
+
+        int offset = headerLength;
+
+        for (int i = 0; i < pngs.size(); i++) {
+            int size = sizes.get(i);
+
+            ico.put((byte) (size >= 256 ? 0 : size)); // width, 0 means 256
+            ico.put((byte) (size >= 256 ? 0 : size)); // height
+            ico.put((byte) 0); // no palette
+            ico.put((byte) 0); // reserved
+            ico.putShort((short) 1); // color planes
+            ico.putShort((short) 32); // bits per pixel
+            ico.putInt(pngs.get(i).length);
+            ico.putInt(offset);
+
+            offset += pngs.get(i).length;
+        }
+
+        for (byte[] png : pngs) {
+            ico.put(png);
+        }
+
+        return ico.array();
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.iforddow.authsuite.storage;
+
+import com.iforddow.authsuite.exception.InvalidFileException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+* The image formats accepted for logos and favicons, recognised by their magic bytes.
+* The content type and file name sent by the client are not trusted. SVG is not
+* accepted, since it can carry scripts.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public enum ImageType {
+
+    PNG("png", true),
+    JPEG("jpg", true),
+    GIF("gif", true),
+    BMP("bmp", true),
+    WEBP("webp", false),
+    ICO("ico", false);
+
+    // The number of leading bytes needed to recognise every format
+    public static final int HEADER_LENGTH = 12;
+
+    // The extension of stored files of this type
+    private final String extension;
+
+    // Whether the JDK can decode this type, which is needed to produce variants
+    private final boolean decodable;
+
+    ImageType(String extension, boolean decodable) {
+        this.extension = extension;
+        this.decodable = decodable;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public boolean decodable() {
+        return decodable;
+    }
+
+    /**
+    * A method to recognise an image from the start of its content.
+    *
+    * @param in The content, positioned at its start. Up to HEADER_LENGTH bytes are read.
+    * @return The image type.
+    *
+    * @throws InvalidFileException if the content is not a supported image.
+    * @throws IOException if the content cannot be read.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static ImageType detect(InputStream in) throws IOException {
+
+        byte[] header = in.readNBytes(HEADER_LENGTH);
+
+        if (startsWith(header, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return PNG;
+        }
+        if (startsWith(header, 0xFF, 0xD8, 0xFF)) {
+            return JPEG;
+        }
+        if (startsWith(header, 'G', 'I', 'F', '8')) {
+            return GIF;
+        }
+        if (startsWith(header, 'B', 'M')) {
+            return BMP;
+        }
+        if (startsWith(header, 'R', 'I', 'F', 'F') && header.length >= 12
+                && Arrays.equals(header, 8, 12, new byte[] { 'W', 'E', 'B', 'P' }, 0, 4)) {
+            return WEBP;
+        }
+        if (startsWith(header, 0x00, 0x00, 0x01, 0x00)) {
+            return ICO;
+        }
+
+        throw new InvalidFileException("Unsupported image. Please upload a PNG, JPEG, GIF, BMP, WebP or ICO file.");
+    }
+
+    /**
+    * A method to check the leading bytes of a header.
+    *
+    * @param header The header bytes.
+    * @param expected The expected leading bytes, as unsigned values.
+    * @return true if the header starts with the expected bytes.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private static boolean startsWith(byte[] header, int... expected) {
+
+        if (header.length < expected.length) {
+            return false;
+        }
+
+        for (int i = 0; i < expected.length; i++) {
+            if ((header[i] & 0xFF) != expected[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.iforddow.authsuite.storage;
+
+import java.util.Map;
+
+/**
+* The result of processing an uploaded image.
+*
+* @param url The URL to use by default, such as the largest logo size or the favicon.ico.
+* @param variants The URLs of the generated variants keyed by name, such as a width or "ico".
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public record ImageVariants(String url, Map<String, String> variants) {
+
+    /**
+    * A method to create the result for an image served as it was uploaded.
+    *
+    * @param original The stored upload.
+    * @return The result without variants.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static ImageVariants unprocessed(StoredImage original) {
+        return new ImageVariants(original.url(), Map.of());
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.iforddow.authsuite.storage;
+
+/**
+* An uploaded image as it was stored, before any processing.
+*
+* @param url The URL the image is served under.
+* @param type The format of the image, recognised from its content.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+public record StoredImage(String url, ImageType type) {}
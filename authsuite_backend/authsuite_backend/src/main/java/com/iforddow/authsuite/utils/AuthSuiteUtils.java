@@ -1,13 +1,12 @@
 package com.iforddow.authsuite.utils;
 
-import com.iforddow.authsuite.exception.InvalidFileException;
+import com.iforddow.authsuite.exception.InvalidCredentialsException;
+import com.iforddow.authsuite.impl.UserPrincipal;
+import com.iforddow.authsuite.jwt.TokenPrincipal;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.util.UUID;
 
 /**
  * Utility class for common operations in the AuthSuite application.
@@ -83,47 +82,52 @@ public class AuthSuiteUtils {
     }
 
     /**
-    * A method to help in the uploading of images.
-    * This method checks if the file is valid, creates the necessary directories,
-    * and saves the file to the specified path.
+    * A method to write a value as a CSV field, quoting it when needed.
     *
-    * @param file the MultipartFile to upload
+    * @param value the value to write, may be null
     *
-    * @return the path where the image is saved
-    *
-    * @throws InvalidFileException if the file is empty or not a valid image
-    * @throws UnknownError if there is an error during file upload
+    * @return the CSV field, empty for a null value
     *
     * @author IFD
-    * @date 2025-06-14
+    * @date 2026-10-18
     * */
-    public static String uploadImage(MultipartFile file) {
-        if (file == null || file.isEmpty()) {
-            throw new InvalidFileException("File is empty or not provided. Please upload a valid image.");
+    public static String csvField(String value) {
+
+        if (value == null) {
+            return "";
         }
 
-        if (!validImage(file)) {
-            throw new InvalidFileException("Invalid logo file. Please upload a valid image.");
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
         }
-        try {
-            String logoExt = file.getOriginalFilename() != null ?
-                    file.getOriginalFilename().substring(file.getOriginalFilename().lastIndexOf('.')) : "";
 
-            if (logoExt.isEmpty()) {
-                throw new InvalidFileException("Invalid file extension. Please upload a valid image.");
-            }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
 
-            Path logoPath = Paths.get("/opt/authsuite/uploads/logo" + logoExt);
-            if (!Files.exists(logoPath.getParent())) {
-                Files.createDirectories(logoPath.getParent());
-            }
-            Files.copy(file.getInputStream(), logoPath, StandardCopyOption.REPLACE_EXISTING);
+    /**
+    * A method to get the id of the user of an authenticated request.
+    *
+    * @param authentication The authentication of the request.
+    *
+    * @return the id of the user
+    *
+    * @throws InvalidCredentialsException if the request is not authenticated as a user
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static UUID currentUserId(Authentication authentication) {
+        Object principal = authentication != null ? authentication.getPrincipal() : null;
 
-            return "/uploads/logo" + logoExt;
+        if(principal instanceof TokenPrincipal tokenPrincipal) {
+            return tokenPrincipal.id();
+        }
 
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to upload logo" + e);
+        if(principal instanceof UserPrincipal userPrincipal) {
+            return userPrincipal.id();
         }
+
+        throw new InvalidCredentialsException("Authentication required");
     }
 
 }
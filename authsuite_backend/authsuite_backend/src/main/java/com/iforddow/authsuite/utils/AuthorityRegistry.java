@@ -0,0 +1,146 @@
+package com.iforddow.authsuite.utils;
+
+import com.iforddow.authsuite.event.AuthorizationChangedEvent;
+import com.iforddow.authsuite.jpa.entity.Permission;
+import com.iforddow.authsuite.jpa.entity.Role;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+* A registry of shared, immutable authority objects.
+* Authority names are interned so every user holding the same authority
+* shares one GrantedAuthority instance, and the authorities granted by a
+* role are computed once and reused by every user holding that role.
+* Role authorities are dropped as soon as a change to the role commits on this
+* instance, and are recomputed after the principal cache TTL in any case, so a
+* change made on another instance or directly in the database is picked up
+* within that window.
+*
+* @author IFD
+* @date 2026-10-18
+* */
+@Component
+public class AuthorityRegistry {
+
+    // Interned authorities keyed by name
+    private static final Map<String, GrantedAuthority> AUTHORITIES = new ConcurrentHashMap<>();
+
+    // The authorities granted by a role, and when they must be computed again
+    private record RoleAuthorities(Set<GrantedAuthority> authorities, long expiresAtMs) {}
+
+    // The authorities granted by each role, keyed by role id
+    private static final Map<Integer, RoleAuthorities> ROLE_AUTHORITIES = new ConcurrentHashMap<>();
+
+    // The longest time the authorities of a role are reused before they are computed again
+    private static volatile long roleTtlMs = 60_000;
+
+    /**
+    * A constructor for the AuthorityRegistry class.
+    *
+    * @param roleTtlMs The longest time the authorities of a role are reused, which bounds how stale they can be.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public AuthorityRegistry(@Value("${auth.principal_cache.ttl_ms:60000}") long roleTtlMs) {
+        AuthorityRegistry.roleTtlMs = roleTtlMs;
+    }
+
+    /**
+    * A method to get the shared authority for a name.
+    *
+    * @param name The name of the authority.
+    * @return The interned GrantedAuthority.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static GrantedAuthority intern(String name) {
+        GrantedAuthority authority = AUTHORITIES.get(name);
+
+        if (authority == null) {
+            authority = AUTHORITIES.computeIfAbsent(name, SimpleGrantedAuthority::new);
+        }
+
+        return authority;
+    }
+
+    /**
+    * A method to get the authorities granted by a role: the role name and the names of its permissions.
+    * The set is computed the first time a role is seen, and again once it is older than the
+    * TTL; in between it is shared by every user holding the role and the role's lazy
+    * permissions are not read.
+    *
+    * @param role The role entity.
+    * @return An immutable set of the authorities granted by the role.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    public static Set<GrantedAuthority> forRole(Role role) {
+        if (role.getId() == null) {
+            return compute(role);
+        }
+
+        long now = System.currentTimeMillis();
+        RoleAuthorities cached = ROLE_AUTHORITIES.get(role.getId());
+
+        if (cached != null && cached.expiresAtMs() > now) {
+            return cached.authorities();
+        }
+
+        Set<GrantedAuthority> computed = compute(role);
+        ROLE_AUTHORITIES.put(role.getId(), new RoleAuthorities(computed, now + roleTtlMs));
+
+        return computed;
+    }
+
+    /**
+    * A method to drop shared role authorities affected by an authorization change.
+    * Changes to a single user do not alter any role, so they are ignored.
+    *
+    * @param event The authorization change.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorizationChanged(AuthorizationChangedEvent event) {
+        if (event.affectsEveryone()) {
+            ROLE_AUTHORITIES.clear();
+        } else if (event.roleId() != null) {
+            ROLE_AUTHORITIES.remove(event.roleId());
+        }
+    }
+
+    /**
+    * A method to compute the authorities granted by a role.
+    *
+    * @param role The role entity.
+    * @return An immutable set of the authorities granted by the role.
+    *
+    * @author IFD
+    * @date 2026-10-18
+    * */
+    private static Set<GrantedAuthority> compute(Role role) {
+        Set<GrantedAuthority> authorities = new HashSet<>();
+        authorities.add(intern(role.getName()));
+
+        if (role.getPermissions() != null) {
+            for (Permission perm : role.getPermissions()) {
+                authorities.add(intern(perm.getName()));
+            }
+        }
+
+        return Set.copyOf(authorities);
+    }
+
+}
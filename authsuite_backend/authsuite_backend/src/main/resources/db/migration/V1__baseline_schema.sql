@@ -0,0 +1,86 @@
+-- Baseline schema: the entity model as it was when Flyway took over the schema.
+-- Databases that were created by Hibernate's ddl-auto are baselined at this version instead of running it,
+-- so this file must never change; columns added since then go in later ALTER TABLE migrations.
+
+CREATE TABLE IF NOT EXISTS "user" (
+    id              uuid                        NOT NULL PRIMARY KEY,
+    created_at      timestamp(6) with time zone NOT NULL DEFAULT now(),
+    email           varchar(255)                NOT NULL,
+    last_active     timestamp(6) with time zone NOT NULL DEFAULT now(),
+    last_updated_at timestamp(6) with time zone,
+    is_superuser    boolean                     NOT NULL DEFAULT false,
+    password        varchar(255)                NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS role (
+    id          integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at  timestamp(6) with time zone NOT NULL DEFAULT now(),
+    created_by  uuid                        NOT NULL,
+    name        varchar(255)                NOT NULL,
+    description text
+);
+
+CREATE TABLE IF NOT EXISTS permission (
+    id          integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at  timestamp(6) with time zone NOT NULL DEFAULT now(),
+    name        varchar(255)                NOT NULL,
+    description text,
+    value       varchar(255)                NOT NULL,
+    created_by  uuid                        NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS user_role (
+    user_id uuid    NOT NULL REFERENCES "user" (id) ON DELETE CASCADE,
+    role_id integer NOT NULL REFERENCES role (id) ON DELETE CASCADE,
+    PRIMARY KEY (user_id, role_id)
+);
+
+CREATE TABLE IF NOT EXISTS user_permission (
+    user_id       uuid    NOT NULL REFERENCES "user" (id) ON DELETE CASCADE,
+    permission_id integer NOT NULL REFERENCES permission (id) ON DELETE CASCADE,
+    PRIMARY KEY (user_id, permission_id)
+);
+
+CREATE TABLE IF NOT EXISTS role_permission (
+    role_id       integer NOT NULL REFERENCES role (id) ON DELETE CASCADE,
+    permission_id integer NOT NULL REFERENCES permission (id) ON DELETE CASCADE,
+    PRIMARY KEY (role_id, permission_id)
+);
+
+CREATE TABLE IF NOT EXISTS user_field_definition (
+    id                    integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at            timestamp(6) with time zone NOT NULL DEFAULT now(),
+    name                  varchar(255)                NOT NULL,
+    description           text,
+    required              boolean                     NOT NULL DEFAULT false,
+    field_type            varchar(15)                 NOT NULL,
+    validation_rules_json jsonb
+);
+
+CREATE TABLE IF NOT EXISTS user_field_value (
+    field_id     integer NOT NULL REFERENCES user_field_definition (id) ON DELETE CASCADE,
+    user_id      uuid    NOT NULL REFERENCES "user" (id) ON DELETE CASCADE,
+    value_string text,
+    value_int    integer,
+    value_bool   boolean,
+    value_date   timestamp(6) with time zone,
+    value_double double precision,
+    value_json   jsonb,
+    PRIMARY KEY (field_id, user_id)
+);
+
+CREATE TABLE IF NOT EXISTS theme_settings (
+    id              integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    primary_color   varchar(7)   DEFAULT '#20a2fe',
+    secondary_color varchar(7)   DEFAULT '#3cdb76',
+    tertiary_color  varchar(7)   DEFAULT '#ff704d',
+    logo_url        varchar(255) DEFAULT '/logo.png',
+    favicon_url     varchar(255) DEFAULT '/favicon.ico',
+    last_updated    timestamp(6) with time zone,
+    last_updated_by uuid REFERENCES "user" (id) ON DELETE SET NULL,
+    title_font      varchar(100) DEFAULT 'DM Sans',
+    body_font       varchar(100) DEFAULT 'Roboto'
+);
+
+-- ThemeService always reads the latest row, so a fresh install starts with the default theme
+INSERT INTO theme_settings DEFAULT VALUES;
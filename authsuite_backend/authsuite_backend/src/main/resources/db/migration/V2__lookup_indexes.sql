@@ -0,0 +1,11 @@
+-- Indexes for the lookups on the authentication and authorization paths.
+
+-- Every login, refresh and token check looks a user up by email, case-insensitively
+CREATE UNIQUE INDEX IF NOT EXISTS user_email_lower_uidx ON "user" (lower(email));
+
+-- The authorization fetch plan joins each mapping table from the user or role side.
+-- The primary keys already index the leading column of each table, so only the second column needs an index.
+CREATE INDEX IF NOT EXISTS user_role_role_id_idx ON user_role (role_id);
+CREATE INDEX IF NOT EXISTS user_permission_permission_id_idx ON user_permission (permission_id);
+CREATE INDEX IF NOT EXISTS role_permission_permission_id_idx ON role_permission (permission_id);
+CREATE INDEX IF NOT EXISTS user_field_value_user_id_idx ON user_field_value (user_id);
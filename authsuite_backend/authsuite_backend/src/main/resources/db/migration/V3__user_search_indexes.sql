@@ -0,0 +1,13 @@
+-- Indexes for the keyset-paginated user search.
+
+-- The seek order of every search page: newest first, ties broken by id
+CREATE INDEX IF NOT EXISTS user_created_at_id_idx ON "user" (created_at, id);
+
+-- Last-active range filters
+CREATE INDEX IF NOT EXISTS user_last_active_idx ON "user" (last_active);
+
+-- Email prefix filters; text_pattern_ops lets LIKE 'prefix%' use the index under any collation
+CREATE INDEX IF NOT EXISTS user_email_lower_pattern_idx ON "user" (lower(email) text_pattern_ops);
+
+-- Role filters look the role up by name before walking user_role
+CREATE INDEX IF NOT EXISTS role_name_idx ON role (name);
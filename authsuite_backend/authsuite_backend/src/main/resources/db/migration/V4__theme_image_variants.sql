@@ -0,0 +1,5 @@
+-- Responsive logo sizes and the favicon set produced from the uploaded images.
+-- Each column maps a variant name, such as a width or "ico", to the URL of a stored asset.
+
+ALTER TABLE theme_settings ADD COLUMN IF NOT EXISTS logo_variants jsonb;
+ALTER TABLE theme_settings ADD COLUMN IF NOT EXISTS favicon_variants jsonb;
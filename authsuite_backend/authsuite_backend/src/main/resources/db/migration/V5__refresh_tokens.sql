@@ -0,0 +1,22 @@
+-- Server-side refresh tokens, one row per issued token.
+-- Rotation marks the presented token used and inserts its successor with the same family_id;
+-- presenting a used token again deletes the whole family.
+
+-- Range-partitioned by expiry into one partition per UTC day. The application creates the
+-- partitions ahead of time and drops a partition once its day has passed.
+CREATE TABLE IF NOT EXISTS refresh_token (
+    id         uuid                        NOT NULL,
+    family_id  uuid                        NOT NULL,
+    user_id    uuid                        NOT NULL REFERENCES "user" (id) ON DELETE CASCADE,
+    created_at timestamp(0) with time zone NOT NULL,
+    issued_at  timestamp(0) with time zone NOT NULL,
+    expires_at timestamp(0) with time zone NOT NULL,
+    used_at    timestamp(3) with time zone,
+    PRIMARY KEY (id, expires_at)
+) PARTITION BY RANGE (expires_at);
+
+-- Revoking a session on logout or on reuse
+CREATE INDEX IF NOT EXISTS refresh_token_family_idx ON refresh_token (family_id);
+
+-- Listing the live sessions of a user
+CREATE INDEX IF NOT EXISTS refresh_token_user_live_idx ON refresh_token (user_id) WHERE used_at IS NULL;
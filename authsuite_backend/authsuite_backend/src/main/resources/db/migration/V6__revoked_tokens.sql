@@ -0,0 +1,10 @@
+-- Access tokens revoked before they expire, keyed by their jti claim.
+-- Instances poll for rows newer than revoked_at and delete rows once the token has expired.
+CREATE TABLE IF NOT EXISTS revoked_token (
+    jti        uuid                        NOT NULL PRIMARY KEY,
+    expires_at timestamp(0) with time zone NOT NULL,
+    revoked_at timestamp(3) with time zone NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS revoked_token_revoked_at_idx ON revoked_token (revoked_at);
+CREATE INDEX IF NOT EXISTS revoked_token_expires_at_idx ON revoked_token (expires_at);
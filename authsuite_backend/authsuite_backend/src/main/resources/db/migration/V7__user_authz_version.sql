@@ -0,0 +1,4 @@
+-- The authorization version of a user, signed into access tokens so tokens minted
+-- before a change to the user's roles or permissions can be refused.
+-- Added after the baseline, so databases baselined at V1 get the column too.
+ALTER TABLE "user" ADD COLUMN IF NOT EXISTS authz_version integer NOT NULL DEFAULT 0;
@@ -0,0 +1,67 @@
+-- Raise user.authz_version whenever the authorities of a user may change, so access tokens
+-- minted before the change are refused. Triggers catch every writer, including manual SQL.
+
+CREATE OR REPLACE FUNCTION bump_authz_version_of_user() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        UPDATE "user" SET authz_version = authz_version + 1 WHERE id = OLD.user_id;
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        UPDATE "user" SET authz_version = authz_version + 1 WHERE id = NEW.user_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Role changes reach every user holding the role
+CREATE OR REPLACE FUNCTION bump_authz_version_of_role() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        UPDATE "user" SET authz_version = authz_version + 1
+        WHERE id IN (SELECT user_id FROM user_role WHERE role_id = OLD.role_id);
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        UPDATE "user" SET authz_version = authz_version + 1
+        WHERE id IN (SELECT user_id FROM user_role WHERE role_id = NEW.role_id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Authorities are named after roles and permissions, so a rename reaches everyone holding them
+CREATE OR REPLACE FUNCTION bump_authz_version_of_renamed() RETURNS trigger AS $$
+BEGIN
+    IF TG_TABLE_NAME = 'role' THEN
+        UPDATE "user" SET authz_version = authz_version + 1
+        WHERE id IN (SELECT user_id FROM user_role WHERE role_id = NEW.id);
+    ELSE
+        UPDATE "user" SET authz_version = authz_version + 1
+        WHERE id IN (SELECT user_id FROM user_permission WHERE permission_id = NEW.id
+                     UNION
+                     SELECT ur.user_id FROM user_role ur
+                     JOIN role_permission rp ON rp.role_id = ur.role_id
+                     WHERE rp.permission_id = NEW.id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER user_role_authz_version
+    AFTER INSERT OR UPDATE OR DELETE ON user_role
+    FOR EACH ROW EXECUTE FUNCTION bump_authz_version_of_user();
+
+CREATE TRIGGER user_permission_authz_version
+    AFTER INSERT OR UPDATE OR DELETE ON user_permission
+    FOR EACH ROW EXECUTE FUNCTION bump_authz_version_of_user();
+
+CREATE TRIGGER role_permission_authz_version
+    AFTER INSERT OR UPDATE OR DELETE ON role_permission
+    FOR EACH ROW EXECUTE FUNCTION bump_authz_version_of_role();
+
+CREATE TRIGGER role_renamed_authz_version
+    AFTER UPDATE OF name ON role
+    FOR EACH ROW WHEN (OLD.name IS DISTINCT FROM NEW.name) EXECUTE FUNCTION bump_authz_version_of_renamed();
+
+CREATE TRIGGER permission_renamed_authz_version
+    AFTER UPDATE OF name ON permission
+    FOR EACH ROW WHEN (OLD.name IS DISTINCT FROM NEW.name) EXECUTE FUNCTION bump_authz_version_of_renamed();
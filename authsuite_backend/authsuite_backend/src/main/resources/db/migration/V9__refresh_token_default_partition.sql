@@ -0,0 +1,4 @@
+-- Tokens whose expiry has no daily partition yet, for example when the application has not
+-- created the partitions ahead, land here instead of failing the insert. When the daily
+-- partition is created, the application moves its rows out of this one first.
+CREATE TABLE IF NOT EXISTS refresh_token_default PARTITION OF refresh_token DEFAULT;
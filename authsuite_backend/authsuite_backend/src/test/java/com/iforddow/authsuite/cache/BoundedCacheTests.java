@@ -0,0 +1,73 @@
+package com.iforddow.authsuite.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTests {
+
+    private static long later() {
+        return System.currentTimeMillis() + 60_000;
+    }
+
+    @Test
+    void returnsLiveEntriesAndCountsHits() {
+        BoundedCache<String, String> cache = new BoundedCache<>(4);
+
+        cache.put("a", "1", later());
+
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.stats().hits());
+        assertEquals(1, cache.stats().misses());
+    }
+
+    @Test
+    void dropsExpiredEntries() {
+        BoundedCache<String, String> cache = new BoundedCache<>(4);
+
+        cache.put("a", "1", System.currentTimeMillis() - 1);
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void evictsOldestEntriesWhenFull() {
+        BoundedCache<String, String> cache = new BoundedCache<>(2);
+
+        cache.put("a", "1", later());
+        cache.put("b", "2", later());
+        cache.put("c", "3", later());
+
+        assertNull(cache.get("a"));
+        assertEquals("2", cache.get("b"));
+        assertEquals("3", cache.get("c"));
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void replacingAKeyKeepsTheNewerValue() {
+        BoundedCache<String, String> cache = new BoundedCache<>(2);
+
+        cache.put("a", "1", later());
+        cache.put("a", "2", later());
+        cache.put("b", "3", later());
+
+        assertEquals("2", cache.get("a"));
+        assertEquals("3", cache.get("b"));
+    }
+
+    @Test
+    void invalidatesMatchingValues() {
+        BoundedCache<String, String> cache = new BoundedCache<>(4);
+
+        cache.put("a", "alice", later());
+        cache.put("b", "bob", later());
+        cache.invalidateIf("alice"::equals);
+
+        assertNull(cache.get("a"));
+        assertEquals("bob", cache.get("b"));
+    }
+
+}
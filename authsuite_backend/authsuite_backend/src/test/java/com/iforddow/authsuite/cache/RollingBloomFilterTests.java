@@ -0,0 +1,59 @@
+package com.iforddow.authsuite.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingBloomFilterTests {
+
+    @Test
+    void addedKeysSurviveOneRollOverAndAreForgottenAfterTwo() {
+        RollingBloomFilter filter = new RollingBloomFilter(1000, 0.001);
+        List<UUID> keys = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            UUID key = UUID.randomUUID();
+            filter.add(key.getMostSignificantBits(), key.getLeastSignificantBits());
+            keys.add(key);
+        }
+
+        filter.rollOver();
+
+        for (UUID key : keys) {
+            assertTrue(filter.mightContain(key.getMostSignificantBits(), key.getLeastSignificantBits()));
+        }
+
+        filter.rollOver();
+
+        for (UUID key : keys) {
+            assertFalse(filter.mightContain(key.getMostSignificantBits(), key.getLeastSignificantBits()));
+        }
+    }
+
+    @Test
+    void falsePositivesStayNearTheConfiguredRate() {
+        RollingBloomFilter filter = new RollingBloomFilter(10_000, 0.001);
+
+        for (int i = 0; i < 10_000; i++) {
+            UUID key = UUID.randomUUID();
+            filter.add(key.getMostSignificantBits(), key.getLeastSignificantBits());
+        }
+
+        int falsePositives = 0;
+
+        for (int i = 0; i < 100_000; i++) {
+            UUID key = UUID.randomUUID();
+
+            if (filter.mightContain(key.getMostSignificantBits(), key.getLeastSignificantBits())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.iforddow.authsuite.filter;
+
+import com.iforddow.authsuite.event.AuthorizationChangedEvent;
+import com.iforddow.authsuite.impl.UserPrincipal;
+import com.iforddow.authsuite.jwt.AuthorizationVersions;
+import com.iforddow.authsuite.jwt.JwtAuthenticationMode;
+import com.iforddow.authsuite.jwt.JwtKeyRing;
+import com.iforddow.authsuite.jwt.TokenRevocationList;
+import com.iforddow.authsuite.jwt.VerifiedTokenCache;
+import com.iforddow.authsuite.service.JwtService;
+import com.iforddow.authsuite.session.RefreshSession;
+import com.iforddow.authsuite.utils.AuthorityRegistry;
+import io.jsonwebtoken.SignatureAlgorithm;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtFilterTests {
+
+    private final JwtService jwtService = jwtService();
+
+    private final UserPrincipal user = new UserPrincipal(UUID.randomUUID(), "user@example.com", "",
+            Set.of(AuthorityRegistry.intern("users.read")), Set.of(), 0);
+
+    private final TokenRevocationList revocationList = new TokenRevocationList(null, 60_000, 1000, 0.001, 100);
+
+    private final VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(true, 100, 60_000, revocationList);
+
+    // The current authorization version of the user, as the database would hold it
+    private int currentVersion = 0;
+
+    private final AuthorizationVersions authorizationVersions = new AuthorizationVersions(null, 100, 60_000) {
+        @Override
+        protected int load(UUID userId) {
+            return currentVersion;
+        }
+    };
+
+    private final JwtFilter filter = new JwtFilter(jwtService, username -> user, JwtAuthenticationMode.STATELESS,
+            verifiedTokenCache, revocationList, authorizationVersions);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void accessTokensAreAuthenticated() throws Exception {
+        assertEquals(HttpServletResponse.SC_OK, send(jwtService.generateJwtToken(user)));
+    }
+
+    @Test
+    void refreshTokensAreNotAcceptedAsBearerTokens() throws Exception {
+        String refreshToken = jwtService.generateRefreshToken(user.email(),
+                RefreshSession.start(user.id(), Instant.now(), Duration.ofDays(7)));
+
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, send(refreshToken));
+
+        // A second request must not be served from the verified token cache either
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, send(refreshToken));
+    }
+
+    @Test
+    void tokensBehindTheAuthorizationVersionAreRefused() throws Exception {
+        String token = jwtService.generateJwtToken(user);
+        assertEquals(HttpServletResponse.SC_OK, send(token));
+
+        // A role is revoked: the database raises the version and the change is announced
+        currentVersion = 1;
+        AuthorizationChangedEvent event = AuthorizationChangedEvent.forUser(user.id());
+        authorizationVersions.onAuthorizationChanged(event);
+        verifiedTokenCache.onAuthorizationChanged(event);
+
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, send(token));
+    }
+
+    /**
+    * Sends a bearer token through the filter to a protected endpoint, which answers
+    * 401 like the security entry point when the request was not authenticated.
+    */
+    private int send(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/auth/api/users");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                ((HttpServletResponse) res).sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            }
+        });
+
+        return response.getStatus();
+    }
+
+    private static JwtService jwtService() {
+        JwtService jwtService = new JwtService(new JwtKeyRing(SignatureAlgorithm.HS256,
+                "abcdefghijklmnopqrstuvwxyz1234567890", "default", "", "", "", "", 60_000, 600_000));
+        jwtService.jwtExpirationMs = 60_000;
+        jwtService.jwtRefreshExpirationMs = 600_000;
+        return jwtService;
+    }
+
+}
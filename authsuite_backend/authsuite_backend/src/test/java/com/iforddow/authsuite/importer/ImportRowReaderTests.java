@@ -0,0 +1,66 @@
+package com.iforddow.authsuite.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iforddow.authsuite.exception.BadBodyException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportRowReaderTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void csvColumnsAreFoundByHeaderAndQuotesAreHonoured() throws IOException {
+        ImportRowReader reader = reader(ImportFormat.CSV,
+                "password,name,email\n" +
+                "\"Pa,ss\"\"1!\",Ann,ann@example.com\n" +
+                "\n" +
+                "{bcrypt}$2a$10$abc,Bob,bob@example.com\n" +
+                "\"unterminated,Bob,bob@example.com\n");
+
+        ImportRow first = reader.next();
+        assertEquals(2, first.line());
+        assertEquals("ann@example.com", first.email());
+        assertEquals("Pa,ss\"1!", first.password());
+
+        ImportRow second = reader.next();
+        assertEquals(4, second.line());
+        assertEquals("{bcrypt}$2a$10$abc", second.password());
+
+        ImportRow third = reader.next();
+        assertEquals(5, third.line());
+        assertNotNull(third.error());
+
+        assertNull(reader.next());
+    }
+
+    @Test
+    void csvWithoutPasswordColumnIsRejected() {
+        ImportRowReader reader = reader(ImportFormat.CSV, "email,name\nann@example.com,Ann\n");
+
+        assertThrows(BadBodyException.class, reader::next);
+    }
+
+    @Test
+    void ndjsonLinesAreParsedOneByOne() throws IOException {
+        ImportRowReader reader = reader(ImportFormat.NDJSON,
+                "{\"email\":\"ann@example.com\",\"password\":\"Secret1!\"}\n" +
+                "not json\n" +
+                "{\"email\":\"bob@example.com\"}\n");
+
+        assertEquals("ann@example.com", reader.next().email());
+        assertNotNull(reader.next().error());
+        assertNotNull(reader.next().error());
+        assertNull(reader.next());
+    }
+
+    private ImportRowReader reader(ImportFormat format, String content) {
+        return new ImportRowReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format, objectMapper);
+    }
+
+}
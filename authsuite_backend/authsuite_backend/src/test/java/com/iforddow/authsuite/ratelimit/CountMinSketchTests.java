@@ -0,0 +1,80 @@
+package com.iforddow.authsuite.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountMinSketchTests {
+
+    @Test
+    void countsDecayAsSlicesLeaveTheWindow() {
+        // A 60 second window in six 10 second slices
+        CountMinSketch sketch = new CountMinSketch(1024, 60_000, 6);
+        long key = TokenBucketTable.hash("user@example.com");
+
+        assertEquals(1, sketch.add(key, 0));
+        assertEquals(2, sketch.add(key, 5_000));
+        assertEquals(3, sketch.add(key, 30_000));
+        assertEquals(3, sketch.estimate(key, 59_999));
+
+        // The first slice has left the window, the one counted at 30 seconds has not
+        assertEquals(1, sketch.estimate(key, 60_000));
+        assertEquals(0, sketch.estimate(key, 90_000));
+        assertEquals(0, sketch.estimate(TokenBucketTable.hash("other@example.com"), 90_000));
+    }
+
+    @Test
+    void countsNeverUnderestimateUnderCollisions() {
+        CountMinSketch sketch = new CountMinSketch(64, 60_000, 6);
+
+        for (int i = 0; i < 5_000; i++) {
+            sketch.add(TokenBucketTable.hash("noise-" + i), 1_000);
+        }
+
+        long attacked = TokenBucketTable.hash("attacked@example.com");
+
+        for (int i = 0; i < 50; i++) {
+            sketch.add(attacked, 1_000);
+        }
+
+        assertTrue(sketch.estimate(attacked, 1_000) >= 50);
+    }
+
+    @Test
+    void countsNeverUnderestimateOnceACollidingSliceExpires() {
+        // A tiny sketch, so the keys share counters, over a window of two slices
+        CountMinSketch sketch = new CountMinSketch(4, 2000, 2);
+
+        for (int i = 0; i < 5; i++) {
+            sketch.add(1, 0);
+        }
+
+        for (int i = 0; i < 3; i++) {
+            sketch.add(0, 0);
+        }
+
+        for (int i = 0; i < 3; i++) {
+            sketch.add(0, 1_000);
+        }
+
+        // The first slice, holding the colliding counts, has left the window
+        assertTrue(sketch.estimate(0, 2_000) >= 3);
+    }
+
+    @Test
+    void heavyHittersKeepTheHighestCounts() {
+        HeavyHitters offenders = new HeavyHitters(2);
+
+        offenders.offer("a", 5);
+        offenders.offer("b", 1);
+        offenders.offer("c", 3);
+        offenders.offer("d", 2);
+
+        var top = offenders.snapshot(key -> key.equals("a") ? 7 : 3);
+
+        assertEquals(2, top.size());
+        assertEquals(new HeavyHitters.Entry("a", 7), top.get(0));
+        assertEquals("c", top.get(1).key());
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.iforddow.authsuite.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTableTests {
+
+    @Test
+    void burstIsAllowedThenRefillsAtTheConfiguredRate() {
+        TokenBucketTable table = new TokenBucketTable(new RateLimitPolicy(3, 6), 64);
+        long key = TokenBucketTable.hash("10.0.0.1");
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, table.tryAcquire(key, 1_000));
+        }
+
+        // 6 per minute is one token every 10 seconds
+        assertEquals(10_000, table.tryAcquire(key, 1_000));
+        assertEquals(4_000, table.tryAcquire(key, 7_000));
+        assertEquals(0, table.tryAcquire(key, 11_000));
+        assertTrue(table.tryAcquire(key, 11_000) > 0);
+
+        // Other keys have their own bucket
+        assertEquals(0, table.tryAcquire(TokenBucketTable.hash("10.0.0.2"), 11_000));
+    }
+
+    @Test
+    void keysIgnoreLetterCase() {
+        assertEquals(TokenBucketTable.hash("User@Example.com"), TokenBucketTable.hash("user@example.com"));
+    }
+
+    @Test
+    void idleKeysAreEvictedFirstWhenTheTableIsFull() {
+        TokenBucketTable table = new TokenBucketTable(new RateLimitPolicy(2, 1), 8);
+        long throttled = TokenBucketTable.hash("throttled");
+
+        assertEquals(0, table.tryAcquire(throttled, 0));
+        assertEquals(0, table.tryAcquire(throttled, 0));
+
+        // Each client keeps a token, so its bucket is fuller than the throttled one and goes first
+        for (int i = 0; i < 100; i++) {
+            table.tryAcquire(TokenBucketTable.hash("client-" + i), i + 1);
+            assertTrue(table.tryAcquire(throttled, i + 1) > 0);
+        }
+    }
+
+    @Test
+    void concurrentChecksNeverExceedTheCapacity() throws InterruptedException {
+        TokenBucketTable table = new TokenBucketTable(new RateLimitPolicy(1000, 1), 64);
+        long key = TokenBucketTable.hash("shared");
+        AtomicInteger allowed = new AtomicInteger();
+
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    if (table.tryAcquire(key, 0) == 0) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1000, allowed.get());
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.iforddow.authsuite.repository;
+
+import com.iforddow.authsuite.jpa.entity.Permission;
+import com.iforddow.authsuite.jpa.entity.Role;
+import com.iforddow.authsuite.jpa.entity.User;
+import com.iforddow.authsuite.repository.projection.UserSummary;
+import com.iforddow.authsuite.request.UserSearchRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:user_repository;MODE=PostgreSQL;NON_KEYWORDS=VALUE,USER",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserRepositoryTests {
+
+    private static final String EMAIL = "fetch-plan@example.com";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Permission read = permission("users.read");
+        Permission write = permission("users.write");
+        Permission export = permission("users.export");
+
+        Role admin = new Role();
+        admin.setName("ADMIN");
+        admin.setCreatedAt(Instant.now());
+        admin.setCreatedBy(UUID.randomUUID());
+        admin.setPermissions(Set.of(read, write));
+        entityManager.persist(admin);
+
+        User user = User.builder()
+                .email(EMAIL)
+                .password("{noop}secret")
+                .createdAt(Instant.now())
+                .lastActive(Instant.now())
+                .isSuperuser(false)
+                .roles(Set.of(admin))
+                .permissions(Set.of(export))
+                .build();
+        entityManager.persist(user);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void authorizationGraphLoadsUserRolesAndPermissionsInOneQuery() {
+        User user = userRepository.findWithAuthorizationByEmail(EMAIL).orElseThrow();
+
+        Set<String> authorities = user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+
+        assertEquals(Set.of("ADMIN", "users.read", "users.write", "users.export"), authorities);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void emailLookupsIgnoreCase() {
+        assertTrue(userRepository.existsByEmail(EMAIL.toUpperCase()));
+        assertTrue(userRepository.findWithAuthorizationByEmail("Fetch-Plan@Example.com").isPresent());
+    }
+
+    @Test
+    void searchSeeksPastTheCursorAndAppliesFilters() {
+        user("older@example.com", Instant.now().minusSeconds(3600));
+        user("oldest@example.com", Instant.now().minusSeconds(7200));
+
+        List<UserSummary> first = userRepository.search(new UserSearchRequest(), null, 2);
+        assertEquals(List.of(EMAIL, "older@example.com"), first.stream().map(UserSummary::email).toList());
+
+        List<UserSummary> second = userRepository.search(new UserSearchRequest(), UserSearchCursor.after(first.get(1)), 2);
+        assertEquals(List.of("oldest@example.com"), second.stream().map(UserSummary::email).toList());
+
+        UserSearchRequest byRole = new UserSearchRequest();
+        byRole.setRole("ADMIN");
+        assertEquals(List.of(EMAIL), userRepository.search(byRole, null, 10).stream().map(UserSummary::email).toList());
+
+        UserSearchRequest byPrefix = new UserSearchRequest();
+        byPrefix.setEmailPrefix("OLD");
+        assertEquals(2, userRepository.search(byPrefix, null, 10).size());
+    }
+
+    private void user(String email, Instant createdAt) {
+        entityManager.persist(User.builder()
+                .email(email)
+                .password("{noop}secret")
+                .createdAt(createdAt)
+                .lastActive(createdAt)
+                .isSuperuser(false)
+                .build());
+        entityManager.flush();
+    }
+
+    private Permission permission(String name) {
+        Permission permission = new Permission();
+        permission.setName(name);
+        permission.setValue(name);
+        permission.setCreatedAt(Instant.now());
+        permission.setCreatedBy(UUID.randomUUID());
+        entityManager.persist(permission);
+        return permission;
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.iforddow.authsuite.service;
+
+import com.iforddow.authsuite.dto.IntrospectionDTO;
+import com.iforddow.authsuite.event.AuthorizationChangedEvent;
+import com.iforddow.authsuite.impl.UserPrincipal;
+import com.iforddow.authsuite.jwt.AuthorizationVersions;
+import com.iforddow.authsuite.jwt.JwtKeyRing;
+import com.iforddow.authsuite.jwt.TokenRevocationList;
+import com.iforddow.authsuite.request.IntrospectionRequest;
+import com.iforddow.authsuite.session.RefreshSession;
+import com.iforddow.authsuite.utils.AuthorityRegistry;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntrospectionServiceTests {
+
+    private final JwtService jwtService = jwtService();
+
+    // The current authorization version of every user, as the database would hold it
+    private int currentVersion = 0;
+
+    private final AuthorizationVersions authorizationVersions = new AuthorizationVersions(null, 100, 60_000) {
+        @Override
+        protected int load(UUID userId) {
+            return currentVersion;
+        }
+    };
+
+    // The revocation list is only consulted for filter hits, so no database is needed here
+    private final IntrospectionService introspectionService = new IntrospectionService(
+            jwtService, new TokenRevocationList(null, 60_000, 1000, 0.001, 100), authorizationVersions, 1000, 1000, 2);
+
+    private final UserPrincipal user = new UserPrincipal(UUID.randomUUID(), "user@example.com", "",
+            Set.of(AuthorityRegistry.intern("users.read")), Set.of(), 0);
+
+    @AfterEach
+    void tearDown() {
+        introspectionService.shutdown();
+    }
+
+    @Test
+    void batchResultsFollowTheOrderOfTheRequest() {
+        String accessToken = jwtService.generateJwtToken(user);
+        String refreshToken = jwtService.generateRefreshToken(user.email(),
+                RefreshSession.start(user.id(), Instant.now(), Duration.ofDays(1)));
+
+        List<String> tokens = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            tokens.add(i % 3 == 0 ? accessToken : i % 3 == 1 ? "not-a-token" : refreshToken);
+        }
+
+        IntrospectionRequest request = new IntrospectionRequest();
+        request.setTokens(tokens);
+
+        List<IntrospectionDTO> results = introspectionService.introspect(request).getBody().get("results");
+
+        assertEquals(100, results.size());
+
+        for (int i = 0; i < 100; i++) {
+            IntrospectionDTO result = results.get(i);
+
+            if (i % 3 == 0) {
+                assertTrue(result.active());
+                assertEquals(user.email(), result.sub());
+                assertEquals(user.id().toString(), result.uid());
+                assertEquals(List.of("users.read"), result.authorities());
+            } else {
+                assertSame(IntrospectionDTO.INACTIVE, result);
+            }
+        }
+    }
+
+    @Test
+    void tokensBehindTheAuthorizationVersionAreInactive() {
+        String token = jwtService.generateJwtToken(user);
+        assertTrue(introspectionService.introspect(token).active());
+
+        // A role is revoked: the database raises the version and the change is announced
+        currentVersion = 1;
+        authorizationVersions.onAuthorizationChanged(AuthorizationChangedEvent.forUser(user.id()));
+
+        // The active result cached for the token must not be served any more
+        assertSame(IntrospectionDTO.INACTIVE, introspectionService.introspect(token));
+
+        // A token minted at the new version is active again
+        UserPrincipal updated = new UserPrincipal(user.id(), user.email(), "", Set.of(), Set.of(), 1);
+        assertTrue(introspectionService.introspect(jwtService.generateJwtToken(updated)).active());
+    }
+
+    private static JwtService jwtService() {
+        JwtService jwtService = new JwtService(new JwtKeyRing(SignatureAlgorithm.HS256,
+                "abcdefghijklmnopqrstuvwxyz1234567890", "default", "", "", "", "", 60_000, 600_000));
+        jwtService.jwtExpirationMs = 60_000;
+        jwtService.jwtRefreshExpirationMs = 600_000;
+        return jwtService;
+    }
+
+}
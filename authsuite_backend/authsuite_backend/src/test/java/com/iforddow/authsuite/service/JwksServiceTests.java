@@ -0,0 +1,78 @@
+package com.iforddow.authsuite.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iforddow.authsuite.jwt.JwtKey;
+import com.iforddow.authsuite.jwt.JwtKeyRing;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwksServiceTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void publishedKeyVerifiesTokensSignedByTheRing() throws Exception {
+        JwtKeyRing keyRing = new JwtKeyRing(SignatureAlgorithm.ES256, "", "es-1", "", "", "", "", 60_000, 600_000);
+        JwksService jwksService = new JwksService(keyRing, objectMapper, 300);
+
+        JwtKey active = keyRing.active();
+        String token = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, active.kid())
+                .setSubject("user@example.com")
+                .signWith(active.signingKey(), active.algorithm())
+                .compact();
+
+        ResponseEntity<byte[]> response = jwksService.getJwks();
+        JsonNode keys = objectMapper.readTree(response.getBody()).get("keys");
+
+        assertEquals(1, keys.size());
+        assertEquals("es-1", keys.get(0).get("kid").asText());
+        assertNotNull(response.getHeaders().getETag());
+
+        PublicKey publicKey = publicKey(keys.get(0));
+        assertEquals("user@example.com",
+                Jwts.parserBuilder().setSigningKey(publicKey).build().parseClaimsJws(token).getBody().getSubject());
+
+        // The set is serialized once until the ring changes
+        assertSame(response.getBody(), jwksService.getJwks().getBody());
+    }
+
+    @Test
+    void hmacKeysAreNeverPublished() throws Exception {
+        JwtKeyRing keyRing = new JwtKeyRing(SignatureAlgorithm.HS256, "abcdefghijklmnopqrstuvwxyz1234567890",
+                "default", "", "", "", "", 60_000, 600_000);
+
+        JsonNode keys = objectMapper.readTree(new JwksService(keyRing, objectMapper, 300).getJwks().getBody()).get("keys");
+
+        assertEquals(0, keys.size());
+    }
+
+    private static PublicKey publicKey(JsonNode jwk) throws Exception {
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec("secp256r1"));
+
+        ECPoint point = new ECPoint(
+                new BigInteger(1, Base64.getUrlDecoder().decode(jwk.get("x").asText())),
+                new BigInteger(1, Base64.getUrlDecoder().decode(jwk.get("y").asText())));
+
+        return KeyFactory.getInstance("EC")
+                .generatePublic(new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class)));
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.iforddow.authsuite.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserActivityBufferTests {
+
+    @Test
+    void failedFlushesKeepTheBufferWithinItsCap() {
+        // A database that is down for the whole test
+        JdbcTemplate unavailable = new JdbcTemplate() {
+            @Override
+            public int update(String sql, Object... args) {
+                throw new DataAccessResourceFailureException("connection refused");
+            }
+        };
+
+        UserActivityBuffer buffer = new UserActivityBuffer(unavailable, 100);
+
+        for (int i = 0; i < 1_000; i++) {
+            buffer.record(UUID.randomUUID(), Instant.now());
+        }
+
+        buffer.flush();
+
+        assertTrue(buffer.pendingCount() <= 101);
+        assertEquals(1_000, buffer.pendingCount() + buffer.droppedCount());
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.iforddow.authsuite.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapRefreshTokenStoreTests {
+
+    private static final Duration LIFETIME = Duration.ofDays(7);
+
+    @Test
+    void rotatedTokenPresentedAgainRevokesTheSession() {
+        OffHeapRefreshTokenStore store = new OffHeapRefreshTokenStore(64);
+        Instant now = Instant.now();
+
+        RefreshSession first = RefreshSession.start(UUID.randomUUID(), now, LIFETIME);
+        store.save(first);
+
+        RefreshSession second = first.next(now.plusSeconds(1), LIFETIME);
+        assertEquals(RotationResult.ROTATED, store.rotate(first, second));
+        assertEquals(List.of(second), store.findActiveByUser(first.userId()));
+
+        // Replaying the consumed token revokes the successor as well
+        assertEquals(RotationResult.REUSED, store.rotate(first, first.next(now.plusSeconds(2), LIFETIME)));
+        assertEquals(RotationResult.INVALID, store.rotate(second, second.next(now.plusSeconds(3), LIFETIME)));
+        assertTrue(store.findActiveByUser(first.userId()).isEmpty());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void expiredOrForgedTokensAreRejected() {
+        OffHeapRefreshTokenStore store = new OffHeapRefreshTokenStore(64);
+        Instant now = Instant.now();
+
+        RefreshSession session = RefreshSession.start(UUID.randomUUID(), now.minus(LIFETIME).minusSeconds(5), LIFETIME);
+        store.save(session);
+
+        assertEquals(RotationResult.INVALID, store.rotate(session, session.next(now, LIFETIME)));
+
+        RefreshSession live = RefreshSession.start(UUID.randomUUID(), now, LIFETIME);
+        store.save(live);
+
+        RefreshSession otherFamily = new RefreshSession(live.id(), UUID.randomUUID(), live.userId(),
+                live.createdAt(), live.issuedAt(), live.expiresAt());
+        assertEquals(RotationResult.INVALID, store.rotate(otherFamily, otherFamily.next(now, LIFETIME)));
+
+        store.purgeExpired();
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void tokensStayReachableAfterRemovalsFromFullProbeSequences() {
+        OffHeapRefreshTokenStore store = new OffHeapRefreshTokenStore(1000);
+        Instant now = Instant.now();
+        UUID userId = UUID.randomUUID();
+
+        List<RefreshSession> sessions = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            RefreshSession session = RefreshSession.start(userId, now, LIFETIME);
+            store.save(session);
+            sessions.add(session);
+        }
+
+        // Revoke every other session, then every remaining token must still rotate
+        for (int i = 0; i < sessions.size(); i += 2) {
+            assertTrue(store.revokeFamily(sessions.get(i).familyId(), userId));
+        }
+
+        for (int i = 1; i < sessions.size(); i += 2) {
+            RefreshSession session = sessions.get(i);
+            assertEquals(RotationResult.ROTATED, store.rotate(session, session.next(now.plusSeconds(1), LIFETIME)));
+        }
+
+        assertEquals(500, store.findActiveByUser(userId).size());
+        assertEquals(500, store.size());
+    }
+
+    @Test
+    void rotationsBeyondTheCapacityReuseTheSessionSlot() {
+        OffHeapRefreshTokenStore store = new OffHeapRefreshTokenStore(16);
+        Instant now = Instant.now();
+
+        RefreshSession first = RefreshSession.start(UUID.randomUUID(), now, LIFETIME);
+        store.save(first);
+
+        RefreshSession current = first;
+
+        for (int i = 1; i <= 1000; i++) {
+            RefreshSession next = current.next(now.plusSeconds(i), LIFETIME);
+            assertEquals(RotationResult.ROTATED, store.rotate(current, next));
+            current = next;
+        }
+
+        assertEquals(1, store.size());
+        assertEquals(List.of(current), store.findActiveByUser(first.userId()));
+
+        // A token consumed long ago is still recognized as a replay of the session
+        assertEquals(RotationResult.REUSED, store.rotate(first, first.next(now, LIFETIME)));
+        assertEquals(0, store.size());
+    }
+
+}
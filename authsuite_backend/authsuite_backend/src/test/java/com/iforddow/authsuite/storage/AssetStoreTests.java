@@ -0,0 +1,48 @@
+package com.iforddow.authsuite.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssetStoreTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void identicalContentIsStoredOnceUnderItsHash() throws IOException {
+        AssetStore store = new AssetStore(directory.toString(), null, 0);
+
+        String first = store.store(new ByteArrayInputStream("logo".getBytes(StandardCharsets.UTF_8)), "png");
+        String second = store.store(new ByteArrayInputStream("logo".getBytes(StandardCharsets.UTF_8)), "png");
+        String other = store.store(new ByteArrayInputStream("favicon".getBytes(StandardCharsets.UTF_8)), "png");
+
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+        assertTrue(first.startsWith(AssetStore.URL_PREFIX));
+
+        try (var files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+
+        String name = first.substring(AssetStore.URL_PREFIX.length());
+        assertNotNull(store.resolve(name));
+        assertEquals("\"" + name.substring(0, 64) + "\"", AssetStore.etag(name));
+    }
+
+    @Test
+    void onlyAssetNamesResolve() {
+        AssetStore store = new AssetStore(directory.toString(), null, 0);
+
+        assertNull(store.resolve("../secret.png"));
+        assertNull(store.resolve("logo.png"));
+    }
+
+}
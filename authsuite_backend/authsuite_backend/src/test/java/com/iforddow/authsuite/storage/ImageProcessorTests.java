@@ -0,0 +1,82 @@
+package com.iforddow.authsuite.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageProcessorTests {
+
+    @TempDir
+    Path directory;
+
+    private AssetStore store;
+    private ImageProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        store = new AssetStore(directory.toString(), null, 0);
+        processor = new ImageProcessor(store, List.of(128, 256, 512), List.of(16, 32, 180), 40_000_000L, 1, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        processor.shutdown();
+    }
+
+    @Test
+    void logoIsDownscaledToTheWidthsBelowItsOwn() throws Exception {
+        StoredImage original = storePng(300, 150);
+
+        ImageVariants variants = processor.processLogo(original).get();
+
+        assertEquals(List.of("128", "256"), List.copyOf(variants.variants().keySet()));
+        assertEquals(variants.variants().get("256"), variants.url());
+
+        BufferedImage scaled = ImageIO.read(store.resolveUrl(variants.url()).toFile());
+        assertEquals(256, scaled.getWidth());
+        assertEquals(128, scaled.getHeight());
+    }
+
+    @Test
+    void faviconSetIsBundledIntoAnIco() throws Exception {
+        StoredImage original = storePng(64, 40);
+
+        ImageVariants variants = processor.processFavicon(original).get();
+
+        assertTrue(variants.variants().keySet().containsAll(List.of("16", "32", "180", "ico")));
+        assertEquals(variants.variants().get("ico"), variants.url());
+
+        byte[] ico = Files.readAllBytes(store.resolveUrl(variants.url()));
+        assertEquals(ImageType.ICO, ImageType.detect(new ByteArrayInputStream(ico)));
+        assertEquals(2, ico[4]);
+    }
+
+    @Test
+    void undecodableUploadIsServedUnprocessed() throws Exception {
+        StoredImage original = new StoredImage(store.store(new byte[] {'R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'E', 'B', 'P'}, "webp"), ImageType.WEBP);
+
+        ImageVariants variants = processor.processLogo(original).get();
+
+        assertEquals(original.url(), variants.url());
+        assertTrue(variants.variants().isEmpty());
+    }
+
+    private StoredImage storePng(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", out);
+        return new StoredImage(store.store(out.toByteArray(), "png"), ImageType.PNG);
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.iforddow.authsuite.utils;
+
+import com.iforddow.authsuite.impl.UserPrincipal;
+import com.iforddow.authsuite.jpa.entity.Permission;
+import com.iforddow.authsuite.jpa.entity.Role;
+import com.iforddow.authsuite.jpa.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthorityRegistryTests {
+
+    @AfterEach
+    void tearDown() {
+        new AuthorityRegistry(60_000);
+    }
+
+    @Test
+    void roleChangesWithoutAnEventArePickedUpWithinTheTtl() throws Exception {
+        new AuthorityRegistry(200);
+        int roleId = ThreadLocalRandom.current().nextInt(1_000_000, Integer.MAX_VALUE);
+
+        assertEquals(Set.of("EDITOR", "posts.write"), login(roleId, "posts.write"));
+
+        // The role loses a permission on another instance: no event reaches this one
+        assertEquals(Set.of("EDITOR", "posts.write"), login(roleId));
+
+        Thread.sleep(250);
+
+        assertEquals(Set.of("EDITOR"), login(roleId));
+    }
+
+    /**
+    * Builds the principal of a login, from a user freshly loaded with a role holding the given permissions.
+    */
+    private static Set<String> login(int roleId, String... permissions) {
+        Role role = new Role();
+        role.setId(roleId);
+        role.setName("EDITOR");
+        role.setPermissions(Arrays.stream(permissions).map(AuthorityRegistryTests::permission).collect(Collectors.toSet()));
+
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .email("editor@example.com")
+                .password("{noop}secret")
+                .createdAt(Instant.now())
+                .lastActive(Instant.now())
+                .isSuperuser(false)
+                .roles(Set.of(role))
+                .permissions(Set.of())
+                .build();
+
+        return UserPrincipal.of(user).getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+    }
+
+    private static Permission permission(String name) {
+        Permission permission = new Permission();
+        permission.setName(name);
+        return permission;
+    }
+
+}
@@ -0,0 +1,6 @@
+-- The tables the application reads through JDBC only, as created by V6__revoked_tokens.sql
+CREATE TABLE IF NOT EXISTS revoked_token (
+    jti        uuid                        NOT NULL PRIMARY KEY,
+    expires_at timestamp(0) with time zone NOT NULL,
+    revoked_at timestamp(3) with time zone NOT NULL DEFAULT now()
+);
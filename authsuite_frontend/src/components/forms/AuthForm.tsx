@@ -80,10 +80,7 @@ export default function AuthForm({
         console.error("Login failed:", error, "Status code:", status);
         // Optionally, show a specific message based on status
         let message = "Login failed. Please try again.";
-        if (status === 404) {
-          message = "User not found.";
-          authForm.setErrors({ email: message });
-        } else if (status === 401) {
+        if (status === 401) {
           message = "Invalid credentials.";
           setPasswordError(message);
         }